@@ -0,0 +1,152 @@
+package br.com.recargapay.wallet.benchmark;
+
+import br.com.recargapay.wallet.benchmark.support.InMemoryBalanceCheckpointRepository;
+import br.com.recargapay.wallet.benchmark.support.InMemoryEntryRepository;
+import br.com.recargapay.wallet.benchmark.support.InMemoryTransactionRepository;
+import br.com.recargapay.wallet.benchmark.support.InMemoryWalletRepository;
+import br.com.recargapay.wallet.benchmark.support.NoOpTransactionManager;
+import br.com.recargapay.wallet.domain.transaction.model.SettlementMode;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionResult;
+import br.com.recargapay.wallet.domain.wallet.model.BalanceCheckpoint;
+import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.service.DepositService;
+import br.com.recargapay.wallet.domain.wallet.service.TransferService;
+import br.com.recargapay.wallet.domain.wallet.service.WalletService;
+import br.com.recargapay.wallet.domain.wallet.service.WithdrawService;
+import br.com.recargapay.wallet.infrastructure.cache.DefaultWalletCache;
+import br.com.recargapay.wallet.infrastructure.common.Either;
+import br.com.recargapay.wallet.infrastructure.common.Error;
+import br.com.recargapay.wallet.infrastructure.metrics.WalletOperationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Throughput of the wallet domain services over in-memory repositories, so what is measured is the
+ * service code itself: {@code BigDecimal} arithmetic, {@code OffsetDateTime.now()}, entity and
+ * {@link Either} allocation and the {@link TransactionTemplate} callback. Run with the GC profiler
+ * ({@code make benchmark}) and compare {@code gc.alloc.rate.norm} between revisions.
+ *
+ * <p>Every operation uses a fresh idempotency id, so none of them is a replay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WalletServicesBenchmark {
+
+  private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+  private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000000.00");
+
+  private InMemoryTransactionRepository transactionRepository;
+  private DepositService depositService;
+  private WithdrawService withdrawService;
+  private TransferService transferService;
+  private WalletService walletService;
+  private UUID originWalletId;
+  private UUID destinationWalletId;
+  private OffsetDateTime historicalAt;
+  private long next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var walletRepository = new InMemoryWalletRepository();
+    var entryRepository = new InMemoryEntryRepository();
+    var checkpointRepository = new InMemoryBalanceCheckpointRepository();
+    var transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+    var operationMetrics = new WalletOperationMetrics(new SimpleMeterRegistry());
+    transactionRepository = new InMemoryTransactionRepository();
+
+    originWalletId =
+        walletRepository.add(new Wallet(UUID.randomUUID(), "BRL"), INITIAL_BALANCE).getId();
+    destinationWalletId =
+        walletRepository.add(new Wallet(UUID.randomUUID(), "BRL"), BigDecimal.ZERO).getId();
+
+    historicalAt = OffsetDateTime.now();
+    entryRepository.seedLedgerSum(originWalletId, new BigDecimal("125.50"));
+    checkpointRepository.create(
+        new BalanceCheckpoint(
+            UUID.randomUUID(),
+            originWalletId,
+            new BigDecimal("1000.00"),
+            historicalAt.minusHours(1),
+            historicalAt.minusHours(1)));
+
+    depositService =
+        new DepositService(
+            walletRepository,
+            transactionRepository,
+            entryRepository,
+            transactionTemplate,
+            operationMetrics);
+    withdrawService =
+        new WithdrawService(
+            walletRepository,
+            transactionRepository,
+            entryRepository,
+            transactionTemplate,
+            operationMetrics);
+    transferService =
+        new TransferService(
+            walletRepository,
+            transactionRepository,
+            entryRepository,
+            transactionTemplate,
+            event -> {},
+            SettlementMode.ASYNC,
+            operationMetrics);
+    walletService =
+        new WalletService(
+            walletRepository,
+            entryRepository,
+            transactionRepository,
+            checkpointRepository,
+            new DefaultWalletCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10)));
+  }
+
+  @Setup(Level.Iteration)
+  public void clearTransactions() {
+    transactionRepository.clear();
+  }
+
+  @Benchmark
+  public Either<Error, TransactionResult> deposit() {
+    return depositService.deposit(destinationWalletId, AMOUNT, idempotencyId());
+  }
+
+  @Benchmark
+  public Either<Error, TransactionResult> withdraw() {
+    return withdrawService.withdraw(originWalletId, AMOUNT, idempotencyId());
+  }
+
+  @Benchmark
+  public Either<Error, TransactionResult> transfer() {
+    return transferService.transfer(originWalletId, destinationWalletId, AMOUNT, idempotencyId());
+  }
+
+  @Benchmark
+  public BigDecimal retrieveHistoricalBalance() {
+    return walletService.retrieveHistoricalBalance(originWalletId, historicalAt);
+  }
+
+  private String idempotencyId() {
+    return Long.toString(next++);
+  }
+}
@@ -0,0 +1,27 @@
+package br.com.recargapay.wallet.benchmark.support;
+
+import br.com.recargapay.wallet.domain.wallet.model.BalanceCheckpoint;
+import br.com.recargapay.wallet.domain.wallet.repository.BalanceCheckpointRepository;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Keeps the latest checkpoint of each wallet. */
+public class InMemoryBalanceCheckpointRepository implements BalanceCheckpointRepository {
+
+  private final Map<UUID, BalanceCheckpoint> latest = new ConcurrentHashMap<>();
+
+  @Override
+  public void create(BalanceCheckpoint checkpoint) {
+    latest.put(checkpoint.getWalletId(), checkpoint);
+  }
+
+  @Override
+  public Optional<BalanceCheckpoint> findLatestByWalletIdAtOrBefore(
+      UUID walletId, OffsetDateTime at) {
+    return Optional.ofNullable(latest.get(walletId))
+        .filter(checkpoint -> !checkpoint.getCheckpointAt().isAfter(at));
+  }
+}
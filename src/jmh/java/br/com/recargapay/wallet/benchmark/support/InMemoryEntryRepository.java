@@ -0,0 +1,67 @@
+package br.com.recargapay.wallet.benchmark.support;
+
+import br.com.recargapay.wallet.domain.transaction.model.Entry;
+import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts written entries instead of keeping them, and answers the ledger sums from fixed values
+ * seeded per wallet, so the benchmarks measure the services rather than the fake.
+ */
+public class InMemoryEntryRepository implements EntryRepository {
+
+  private final LongAdder written = new LongAdder();
+  private final Map<UUID, BigDecimal> ledgerSums = new ConcurrentHashMap<>();
+
+  public void seedLedgerSum(UUID walletId, BigDecimal sum) {
+    ledgerSums.put(walletId, sum);
+  }
+
+  public long written() {
+    return written.sum();
+  }
+
+  @Override
+  public Entry create(Entry entry) {
+    written.increment();
+    return entry;
+  }
+
+  @Override
+  public List<Entry> create(List<Entry> entries) {
+    written.add(entries.size());
+    return entries;
+  }
+
+  @Override
+  public BigDecimal sumSignedAmountByWalletIdAndCreatedAtBefore(UUID walletId, OffsetDateTime at) {
+    return ledgerSums.getOrDefault(walletId, BigDecimal.ZERO);
+  }
+
+  @Override
+  public BigDecimal sumSignedAmountByWalletIdAndCreatedAtBetween(
+      UUID walletId, OffsetDateTime from, OffsetDateTime to) {
+    return ledgerSums.getOrDefault(walletId, BigDecimal.ZERO);
+  }
+
+  @Override
+  public List<UUID> findWalletIdsWithEntriesBetween(OffsetDateTime from, OffsetDateTime to) {
+    return List.copyOf(ledgerSums.keySet());
+  }
+
+  @Override
+  public List<UUID> findWalletIdsWithPendingFold(int limit) {
+    return List.of();
+  }
+
+  @Override
+  public BigDecimal foldPendingByWalletId(UUID walletId) {
+    return BigDecimal.ZERO;
+  }
+}
@@ -0,0 +1,118 @@
+package br.com.recargapay.wallet.benchmark.support;
+
+import br.com.recargapay.wallet.domain.transaction.model.Status;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.PendingTransferCursor;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryCursor;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Transactions indexed by id and by idempotency key. Benchmarks call {@link #clear()} between
+ * iterations so the maps do not grow for the whole run.
+ */
+public class InMemoryTransactionRepository implements TransactionRepository {
+
+  private record Key(UUID walletId, String idempotencyId, Type type) {}
+
+  private final Map<UUID, Transaction> byId = new ConcurrentHashMap<>();
+  private final Map<Key, Transaction> byKey = new ConcurrentHashMap<>();
+
+  public void clear() {
+    byId.clear();
+    byKey.clear();
+  }
+
+  @Override
+  public void create(Transaction transaction) {
+    byKey.put(key(transaction), transaction);
+    byId.put(transaction.getId(), transaction);
+  }
+
+  @Override
+  public boolean createIfAbsent(Transaction transaction) {
+    if (byKey.putIfAbsent(key(transaction), transaction) != null) {
+      return false;
+    }
+    byId.put(transaction.getId(), transaction);
+    return true;
+  }
+
+  @Override
+  public void create(List<Transaction> transactions) {
+    transactions.forEach(this::create);
+  }
+
+  @Override
+  public Optional<Transaction> findByWalletIdAndIdempotencyIdAndType(
+      UUID walletId, String idempotencyId, Type type) {
+    return Optional.ofNullable(byKey.get(new Key(walletId, idempotencyId, type)));
+  }
+
+  @Override
+  public List<Transaction> findAllByWalletIdInAndIdempotencyIdInAndType(
+      Collection<UUID> walletIds, Collection<String> idempotencyIds, Type type) {
+    return walletIds.stream()
+        .flatMap(w -> idempotencyIds.stream().map(i -> byKey.get(new Key(w, i, type))))
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  @Override
+  public void update(Transaction transaction) {
+    create(transaction);
+  }
+
+  @Override
+  public Optional<Transaction> loadById(UUID transactionId) {
+    return Optional.ofNullable(byId.get(transactionId));
+  }
+
+  @Override
+  public List<Transaction> loadAllById(Collection<UUID> transactionIds) {
+    return transactionIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+  }
+
+  @Override
+  public List<UUID> markTransfersProcessed(Collection<UUID> transactionIds) {
+    return transactionIds.stream()
+        .map(byId::get)
+        .filter(t -> t != null && t.isTransfer() && !t.isCompleted())
+        .peek(Transaction::processed)
+        .map(Transaction::getId)
+        .toList();
+  }
+
+  @Override
+  public Optional<OffsetDateTime> findOldestPendingTransferCreatedAt() {
+    return byId.values().stream()
+        .filter(t -> t.isTransfer() && t.getStatus() == Status.PENDING)
+        .map(Transaction::getCreatedAt)
+        .min(OffsetDateTime::compareTo);
+  }
+
+  @Override
+  public List<Transaction> findPendingTransfersUpdatedBefore(
+      OffsetDateTime updatedBefore, PendingTransferCursor cursor, int limit) {
+    return List.of();
+  }
+
+  @Override
+  public List<Transaction> findByWalletIdBefore(
+      UUID walletId, TransactionHistoryCursor cursor, int limit) {
+    return List.of();
+  }
+
+  private static Key key(Transaction transaction) {
+    return new Key(
+        transaction.getWalletId(), transaction.getIdempotencyId(), transaction.getType());
+  }
+}
@@ -0,0 +1,96 @@
+package br.com.recargapay.wallet.benchmark.support;
+
+import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Wallets and balances in hash maps; balance updates are atomic per wallet like the SQL ones. */
+public class InMemoryWalletRepository implements WalletRepository {
+
+  private final Map<UUID, Wallet> wallets = new ConcurrentHashMap<>();
+  private final Map<UUID, BigDecimal> balances = new ConcurrentHashMap<>();
+
+  public Wallet add(Wallet wallet, BigDecimal balance) {
+    wallets.put(wallet.getId(), wallet);
+    balances.put(wallet.getId(), balance);
+    return wallet;
+  }
+
+  @Override
+  public Optional<Wallet> loadByIdForUpdate(UUID walletId) {
+    return findById(walletId);
+  }
+
+  @Override
+  public Optional<Wallet> findById(UUID walletId) {
+    return Optional.ofNullable(wallets.get(walletId));
+  }
+
+  @Override
+  public List<Wallet> findAllById(Collection<UUID> walletIds) {
+    return walletIds.stream().map(wallets::get).filter(Objects::nonNull).toList();
+  }
+
+  @Override
+  public Optional<BigDecimal> findAvailableBalanceById(UUID walletId) {
+    return Optional.ofNullable(balances.get(walletId));
+  }
+
+  @Override
+  public void updateHot(UUID walletId, boolean hot) {}
+
+  @Override
+  public Wallet save(Wallet wallet) {
+    return add(wallet, BigDecimal.ZERO);
+  }
+
+  @Override
+  public Optional<Wallet> createIfAbsent(Wallet wallet) {
+    return Optional.of(save(wallet));
+  }
+
+  @Override
+  public Optional<Wallet> enableBalanceSharding(UUID walletId, int shards) {
+    return findById(walletId);
+  }
+
+  @Override
+  public Optional<BigDecimal> creditBalance(UUID walletId, BigDecimal amount) {
+    return Optional.ofNullable(balances.computeIfPresent(walletId, (id, b) -> b.add(amount)));
+  }
+
+  @Override
+  public Optional<BigDecimal> debitBalance(UUID walletId, BigDecimal amount) {
+    var debited = new BigDecimal[1];
+    balances.computeIfPresent(
+        walletId,
+        (id, b) -> {
+          if (b.compareTo(amount) < 0) {
+            return b;
+          }
+          debited[0] = b.subtract(amount);
+          return debited[0];
+        });
+    return Optional.ofNullable(debited[0]);
+  }
+
+  @Override
+  public List<Wallet> listByCustomerIdAndCurrency(UUID customerId, String currency) {
+    return wallets.values().stream()
+        .filter(w -> w.getCustomerId().equals(customerId))
+        .filter(w -> w.getCurrency().name().equals(currency))
+        .toList();
+  }
+
+  @Override
+  public List<Wallet> findByCustomerId(UUID customerId) {
+    return wallets.values().stream().filter(w -> w.getCustomerId().equals(customerId)).toList();
+  }
+}
@@ -0,0 +1,21 @@
+package br.com.recargapay.wallet.benchmark.support;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/** Lets {@code TransactionTemplate} run its callbacks without a database. */
+public class NoOpTransactionManager implements PlatformTransactionManager {
+
+  @Override
+  public TransactionStatus getTransaction(TransactionDefinition definition) {
+    return new SimpleTransactionStatus();
+  }
+
+  @Override
+  public void commit(TransactionStatus status) {}
+
+  @Override
+  public void rollback(TransactionStatus status) {}
+}
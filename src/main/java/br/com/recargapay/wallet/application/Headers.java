@@ -2,4 +2,5 @@ package br.com.recargapay.wallet.application;
 
 public class Headers {
   public static final String X_IDEMPOTENCY_ID = "X-Idempotency-Id";
+  public static final String X_SETTLEMENT_MODE = "X-Settlement-Mode";
 }
@@ -0,0 +1,84 @@
+package br.com.recargapay.wallet.application.controller;
+
+import br.com.recargapay.wallet.application.definitions.BalanceShardsRequest;
+import br.com.recargapay.wallet.application.definitions.HotWalletRequest;
+import br.com.recargapay.wallet.application.definitions.WalletSettingsResponse;
+import br.com.recargapay.wallet.domain.wallet.service.WalletService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/wallets")
+@Tag(
+    name = "Wallet administration",
+    description = "Operational settings of any wallet, restricted to the wallet:admin scope")
+public class AdminWalletController {
+
+  private final WalletService walletService;
+
+  public AdminWalletController(WalletService walletService) {
+    this.walletService = walletService;
+  }
+
+  @Operation(
+      summary = "Mark a wallet as hot",
+      description =
+          "Turns credit buffering on or off for a wallet that receives many concurrent credits. "
+              + "Credits to a hot wallet are stored as pending entries and folded into its balance "
+              + "in batches by the aggregation job.",
+      responses = {
+        @ApiResponse(responseCode = "204", description = "Setting updated"),
+        @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Token without the wallet:admin scope",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "Wallet not found", content = @Content)
+      })
+  @PutMapping("/{walletId}/hot")
+  public ResponseEntity<Void> setHot(
+      @Parameter(description = "Wallet identifier") @PathVariable UUID walletId,
+      @Valid @RequestBody HotWalletRequest request) {
+    walletService.setHotWallet(walletId, request.hot());
+    return ResponseEntity.noContent().build();
+  }
+
+  @Operation(
+      summary = "Shard a wallet balance",
+      description =
+          "Spreads the balance of a high contention wallet over more rows. The current balance "
+              + "stays in shard 0 and the new shards start empty; the number of shards can only "
+              + "grow.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Balance sharded",
+            content = @Content(schema = @Schema(implementation = WalletSettingsResponse.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request or no more shards than the current ones",
+            content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Token without the wallet:admin scope",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "Wallet not found", content = @Content)
+      })
+  @PutMapping("/{walletId}/balance-shards")
+  public ResponseEntity<WalletSettingsResponse> enableBalanceSharding(
+      @Parameter(description = "Wallet identifier") @PathVariable UUID walletId,
+      @Valid @RequestBody BalanceShardsRequest request) {
+    var wallet = walletService.enableBalanceSharding(walletId, request.shards());
+    return ResponseEntity.ok(WalletSettingsResponse.toResponse(wallet));
+  }
+}
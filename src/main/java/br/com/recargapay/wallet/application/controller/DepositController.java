@@ -1,12 +1,16 @@
 package br.com.recargapay.wallet.application.controller;
 
 import br.com.recargapay.wallet.application.Headers;
+import br.com.recargapay.wallet.application.definitions.BulkOperationItem;
+import br.com.recargapay.wallet.application.definitions.BulkOperationRequest;
+import br.com.recargapay.wallet.application.definitions.BulkOperationResponse;
 import br.com.recargapay.wallet.application.definitions.DepositRequest;
 import br.com.recargapay.wallet.application.definitions.TransactionResponse;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
 import br.com.recargapay.wallet.domain.wallet.exception.WalletErrorCode;
-import br.com.recargapay.wallet.domain.wallet.model.Wallet;
 import br.com.recargapay.wallet.domain.wallet.service.DepositService;
 import br.com.recargapay.wallet.domain.wallet.service.WalletService;
+import br.com.recargapay.wallet.infrastructure.idempotency.IdempotencyResponseStore;
 import br.com.recargapay.wallet.infrastructure.security.SecurityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,9 +19,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,12 +33,17 @@ public class DepositController {
   private final DepositService depositService;
   private final WalletService walletService;
   private final SecurityService securityService;
+  private final IdempotencyResponseStore idempotencyResponseStore;
 
   public DepositController(
-      DepositService depositService, WalletService walletService, SecurityService securityService) {
+      DepositService depositService,
+      WalletService walletService,
+      SecurityService securityService,
+      IdempotencyResponseStore idempotencyResponseStore) {
     this.depositService = depositService;
     this.walletService = walletService;
     this.securityService = securityService;
+    this.idempotencyResponseStore = idempotencyResponseStore;
   }
 
   @Operation(
@@ -68,10 +77,15 @@ public class DepositController {
       @Valid @RequestBody DepositRequest depositRequest) {
 
     UUID customerId = securityService.getAuthenticatedCustomerId();
-    Wallet wallet = walletService.retrieveDefaultWallet(customerId);
+    UUID walletId = walletService.retrieveDefaultWalletId(customerId);
+
+    var replay = idempotencyResponseStore.find(walletId, Type.DEPOSIT, idempotencyId);
+    if (replay.isPresent()) {
+      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(replay.get());
+    }
 
     return depositService
-        .deposit(wallet.getId(), depositRequest.amount(), idempotencyId)
+        .deposit(walletId, depositRequest.amount(), idempotencyId)
         .fold(
             error -> {
               HttpStatus status =
@@ -82,9 +96,39 @@ public class DepositController {
                           : HttpStatus.BAD_REQUEST;
               return ResponseEntity.status(status).body(error);
             },
-            transaction -> {
-              BigDecimal availableBalance = walletService.retrieveBalance(wallet.getId());
-              return ResponseEntity.ok(TransactionResponse.from(transaction, availableBalance));
+            result -> {
+              var response = TransactionResponse.from(result.transaction(), result.balance());
+              if (!result.replayed()) {
+                idempotencyResponseStore.save(walletId, Type.DEPOSIT, idempotencyId, response);
+              }
+              return ResponseEntity.ok(response);
             });
   }
+
+  @Operation(
+      summary = "Deposit funds in bulk",
+      description =
+          "Deposits the amount of each item into its wallet in a single database transaction and "
+              + "returns the outcome of each item in request order. Each item carries its own "
+              + "idempotency ID. Requires the wallet:bulk scope.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Items processed, see each result for its outcome",
+            content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - Missing wallet:bulk scope",
+            content = @Content)
+      })
+  @PutMapping("/deposits/bulk")
+  public ResponseEntity<BulkOperationResponse> depositAll(
+      @Valid @RequestBody BulkOperationRequest request) {
+    var outcomes =
+        depositService.depositAll(
+            request.items().stream().map(BulkOperationItem::toBulkItem).toList());
+    return ResponseEntity.ok(BulkOperationResponse.from(request.items(), outcomes));
+  }
 }
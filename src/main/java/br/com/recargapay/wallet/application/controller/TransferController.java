@@ -1,12 +1,17 @@
 package br.com.recargapay.wallet.application.controller;
 
 import br.com.recargapay.wallet.application.Headers;
+import br.com.recargapay.wallet.application.definitions.BulkOperationResponse;
 import br.com.recargapay.wallet.application.definitions.TransactionResponse;
+import br.com.recargapay.wallet.application.definitions.TransferBatchItem;
+import br.com.recargapay.wallet.application.definitions.TransferBatchRequest;
 import br.com.recargapay.wallet.application.definitions.TransferRequest;
+import br.com.recargapay.wallet.domain.transaction.model.SettlementMode;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
 import br.com.recargapay.wallet.domain.wallet.exception.WalletErrorCode;
-import br.com.recargapay.wallet.domain.wallet.model.Wallet;
 import br.com.recargapay.wallet.domain.wallet.service.TransferService;
 import br.com.recargapay.wallet.domain.wallet.service.WalletService;
+import br.com.recargapay.wallet.infrastructure.idempotency.IdempotencyResponseStore;
 import br.com.recargapay.wallet.infrastructure.security.SecurityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,9 +20,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.stream.IntStream;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,14 +35,17 @@ public class TransferController {
   private final TransferService transferService;
   private final WalletService walletService;
   private final SecurityService securityService;
+  private final IdempotencyResponseStore idempotencyResponseStore;
 
   public TransferController(
       TransferService transferService,
       WalletService walletService,
-      SecurityService securityService) {
+      SecurityService securityService,
+      IdempotencyResponseStore idempotencyResponseStore) {
     this.transferService = transferService;
     this.walletService = walletService;
     this.securityService = securityService;
+    this.idempotencyResponseStore = idempotencyResponseStore;
   }
 
   @Operation(
@@ -71,27 +80,88 @@ public class TransferController {
               example = "uuid-or-unique-string")
           @RequestHeader(name = Headers.X_IDEMPOTENCY_ID)
           String idempotencyId,
+      @Parameter(
+              description =
+                  "How the destination is credited: SYNC in the same transaction, ASYNC through "
+                      + "the queue, or AUTO by destination contention. Defaults to the configured "
+                      + "policy",
+              example = "AUTO")
+          @RequestHeader(name = Headers.X_SETTLEMENT_MODE, required = false)
+          SettlementMode settlementMode,
       @Valid @RequestBody TransferRequest request) {
 
     UUID customerId = securityService.getAuthenticatedCustomerId();
-    Wallet originWallet = walletService.retrieveDefaultWallet(customerId);
+    UUID originWalletId = walletService.retrieveDefaultWalletId(customerId);
+
+    var replay = idempotencyResponseStore.find(originWalletId, Type.TRANSFER, idempotencyId);
+    if (replay.isPresent()) {
+      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(replay.get());
+    }
+
+    var outcome =
+        settlementMode == null
+            ? transferService.transfer(
+                originWalletId, request.destinationWalletId(), request.amount(), idempotencyId)
+            : transferService.transfer(
+                originWalletId,
+                request.destinationWalletId(),
+                request.amount(),
+                idempotencyId,
+                settlementMode);
+    return outcome.fold(
+        error -> {
+          HttpStatus status =
+              error.code().equals(WalletErrorCode.WALLET_NOT_FOUND.getCode())
+                  ? HttpStatus.NOT_FOUND
+                  : error.code().equals(WalletErrorCode.CURRENCY_MISMATCH.getCode())
+                      ? HttpStatus.UNPROCESSABLE_ENTITY
+                      : HttpStatus.BAD_REQUEST;
+          return ResponseEntity.status(status).body(error);
+        },
+        result -> {
+          var response = TransactionResponse.from(result.transaction(), result.balance());
+          if (!result.replayed()) {
+            idempotencyResponseStore.save(originWalletId, Type.TRANSFER, idempotencyId, response);
+          }
+          return ResponseEntity.ok(response);
+        });
+  }
+
+  @Operation(
+      summary = "Transfer funds to many wallets",
+      description =
+          "Pays every item from the authenticated customer's default wallet in a single database "
+              + "transaction. The total of the valid items is debited at once, so either all of "
+              + "them fit in the balance or all are rejected. Each item carries its own "
+              + "idempotency ID and the outcome of each item is returned in request order.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Items processed, see each result for its outcome",
+            content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+      })
+  @PutMapping("/transfers/batch")
+  public ResponseEntity<BulkOperationResponse> transferAll(
+      @Valid @RequestBody TransferBatchRequest request) {
+
+    UUID customerId = securityService.getAuthenticatedCustomerId();
+    UUID originWalletId = walletService.retrieveDefaultWalletId(customerId);
 
-    return transferService
-        .transfer(
-            originWallet.getId(), request.destinationWalletId(), request.amount(), idempotencyId)
-        .fold(
-            error -> {
-              HttpStatus status =
-                  error.code().equals(WalletErrorCode.WALLET_NOT_FOUND.getCode())
-                      ? HttpStatus.NOT_FOUND
-                      : error.code().equals(WalletErrorCode.CURRENCY_MISMATCH.getCode())
-                          ? HttpStatus.UNPROCESSABLE_ENTITY
-                          : HttpStatus.BAD_REQUEST;
-              return ResponseEntity.status(status).body(error);
-            },
-            transaction -> {
-              BigDecimal availableBalance = walletService.retrieveBalance(originWallet.getId());
-              return ResponseEntity.ok(TransactionResponse.from(transaction, availableBalance));
-            });
+    var items = request.items();
+    var outcomes =
+        transferService.transferAll(
+            originWalletId, items.stream().map(TransferBatchItem::toTransferItem).toList());
+    return ResponseEntity.ok(
+        new BulkOperationResponse(
+            IntStream.range(0, items.size())
+                .mapToObj(
+                    i ->
+                        BulkOperationResponse.Result.of(
+                            items.get(i).destinationWalletId(),
+                            items.get(i).idempotencyId(),
+                            outcomes.get(i)))
+                .toList()));
   }
 }
@@ -2,6 +2,7 @@ package br.com.recargapay.wallet.application.controller;
 
 import br.com.recargapay.wallet.application.definitions.CreateWalletRequest;
 import br.com.recargapay.wallet.application.definitions.CreateWalletResponse;
+import br.com.recargapay.wallet.application.definitions.TransactionHistoryResponse;
 import br.com.recargapay.wallet.application.definitions.WalletBalanceDefinition;
 import br.com.recargapay.wallet.domain.wallet.model.Wallet;
 import br.com.recargapay.wallet.domain.wallet.service.WalletService;
@@ -28,6 +29,8 @@ import org.springframework.web.util.UriComponentsBuilder;
 @Tag(name = "Wallets", description = "Operations related to wallet management")
 public class WalletController {
 
+  private static final int MAX_HISTORY_PAGE_SIZE = 200;
+
   private final WalletService walletService;
   private final SecurityService securityService;
 
@@ -76,14 +79,47 @@ public class WalletController {
           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
           OffsetDateTime at) {
     UUID customerId = securityService.getAuthenticatedCustomerId();
-    Wallet wallet = walletService.retrieveDefaultWallet(customerId);
+    UUID walletId = walletService.retrieveDefaultWalletId(customerId);
     BigDecimal balance =
         at == null
-            ? walletService.retrieveBalance(wallet.getId())
-            : walletService.retrieveHistoricalBalance(wallet.getId(), at);
+            ? walletService.retrieveBalance(walletId)
+            : walletService.retrieveHistoricalBalance(walletId, at);
     return ResponseEntity.ok(new WalletBalanceDefinition(balance));
   }
 
+  @Operation(
+      summary = "List wallet transactions",
+      description =
+          "Lists the transactions of the authenticated customer's default wallet, newest first, including transfers received from other wallets. Pass the returned nextCursor to fetch the following page.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Transactions retrieved successfully",
+            content =
+                @Content(schema = @Schema(implementation = TransactionHistoryResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+      })
+  @GetMapping("/transactions")
+  public ResponseEntity<TransactionHistoryResponse> listTransactions(
+      @Parameter(description = "Cursor returned by the previous page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(
+              description = "Maximum number of transactions in the page (1 to 200)",
+              example = "50")
+          @RequestParam(defaultValue = "50")
+          int limit) {
+    UUID customerId = securityService.getAuthenticatedCustomerId();
+    UUID walletId = walletService.retrieveDefaultWalletId(customerId);
+    var page =
+        walletService.listTransactions(
+            walletId,
+            TransactionHistoryResponse.decodeCursor(cursor),
+            Math.clamp(limit, 1, MAX_HISTORY_PAGE_SIZE));
+    return ResponseEntity.ok(TransactionHistoryResponse.from(page));
+  }
+
   private static @NonNull URI resolveLocation(Wallet wallet) {
     return UriComponentsBuilder.fromPath("/api/v1/wallets/{id}")
         .buildAndExpand(wallet.getId())
@@ -1,10 +1,12 @@
 package br.com.recargapay.wallet.application.controller.auth;
 
+import br.com.recargapay.wallet.application.definitions.auth.ClientTokenRequest;
 import br.com.recargapay.wallet.application.definitions.auth.LoginRequest;
 import br.com.recargapay.wallet.application.definitions.auth.LoginResponse;
 import br.com.recargapay.wallet.application.definitions.auth.RegisterRequest;
 import br.com.recargapay.wallet.domain.customer.model.Customer;
 import br.com.recargapay.wallet.domain.customer.repository.CustomerRepository;
+import br.com.recargapay.wallet.infrastructure.security.SecurityConfig;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,6 +14,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -35,14 +38,26 @@ public class AuthController {
   private final CustomerRepository customerRepository;
   private final PasswordEncoder passwordEncoder;
   private final JwtEncoder jwtEncoder;
+  private final String bulkClientId;
+  private final String bulkClientSecret;
+  private final String adminClientId;
+  private final String adminClientSecret;
 
   public AuthController(
       CustomerRepository customerRepository,
       PasswordEncoder passwordEncoder,
-      JwtEncoder jwtEncoder) {
+      JwtEncoder jwtEncoder,
+      @Value("${wallet.security.bulk-client.id}") String bulkClientId,
+      @Value("${wallet.security.bulk-client.secret}") String bulkClientSecret,
+      @Value("${wallet.security.admin-client.id}") String adminClientId,
+      @Value("${wallet.security.admin-client.secret}") String adminClientSecret) {
     this.customerRepository = customerRepository;
     this.passwordEncoder = passwordEncoder;
     this.jwtEncoder = jwtEncoder;
+    this.bulkClientId = bulkClientId;
+    this.bulkClientSecret = bulkClientSecret;
+    this.adminClientId = adminClientId;
+    this.adminClientSecret = adminClientSecret;
   }
 
   @Operation(
@@ -84,6 +99,50 @@ public class AuthController {
     return ResponseEntity.ok(new LoginResponse(token));
   }
 
+  @Operation(
+      summary = "Service client token",
+      description =
+          "Authenticates a configured service client and returns a JWT access token with its "
+              + "scope: wallet:bulk for the bulk client, wallet:admin for the admin client. "
+              + "Customers never receive these scopes.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Token issued",
+            content = @Content(schema = @Schema(implementation = LoginResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Invalid credentials", content = @Content)
+      })
+  @PostMapping("/authentication/clients")
+  public ResponseEntity<LoginResponse> authenticateClient(
+      @Valid @RequestBody ClientTokenRequest clientTokenRequest) {
+    // No client is configured by default, which keeps the bulk and admin endpoints closed.
+    String scope;
+    if (isClient(clientTokenRequest, bulkClientId, bulkClientSecret)) {
+      scope = SecurityConfig.BULK_SCOPE;
+    } else if (isClient(clientTokenRequest, adminClientId, adminClientSecret)) {
+      scope = SecurityConfig.ADMIN_SCOPE;
+    } else {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
+    Instant now = Instant.now();
+    long expiry = 3600L;
+
+    JwtClaimsSet claims =
+        JwtClaimsSet.builder()
+            .issuer(ISSUER)
+            .issuedAt(now)
+            .expiresAt(now.plusSeconds(expiry))
+            .subject(clientTokenRequest.clientId())
+            .claim("scope", scope)
+            .build();
+
+    String token = jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+
+    return ResponseEntity.ok(new LoginResponse(token));
+  }
+
   @Operation(
       summary = "Register a new customer",
       description = "Creates a new customer account with the provided details.",
@@ -108,4 +167,10 @@ public class AuthController {
 
     return ResponseEntity.status(HttpStatus.CREATED).build();
   }
+
+  private boolean isClient(ClientTokenRequest request, String clientId, String clientSecret) {
+    return !clientId.isBlank()
+        && clientId.equals(request.clientId())
+        && passwordEncoder.matches(request.clientSecret(), clientSecret);
+  }
 }
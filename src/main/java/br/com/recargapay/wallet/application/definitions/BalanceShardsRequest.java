@@ -0,0 +1,18 @@
+package br.com.recargapay.wallet.application.definitions;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Request object for spreading a wallet balance over several rows")
+public record BalanceShardsRequest(
+    @Schema(
+            description =
+                "Number of balance shards; must be greater than the current number of shards",
+            example = "8",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "shards is required")
+        @Min(2)
+        @Max(64)
+        Integer shards) {}
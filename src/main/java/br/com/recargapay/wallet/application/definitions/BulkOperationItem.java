@@ -0,0 +1,36 @@
+package br.com.recargapay.wallet.application.definitions;
+
+import br.com.recargapay.wallet.domain.transaction.vo.BulkItem;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Schema(description = "One operation of a bulk deposit or withdrawal")
+public record BulkOperationItem(
+    @Schema(
+            description = "Unique identifier of the wallet",
+            example = "550e8400-e29b-41d4-a716-446655440001",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "walletId is required")
+        UUID walletId,
+    @Schema(
+            description = "Amount of the operation",
+            example = "100.00",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "amount is required")
+        @DecimalMin(value = "0.01", message = "amount must be positive")
+        BigDecimal amount,
+    @Schema(
+            description = "Unique ID to ensure idempotency of the operation within its wallet",
+            example = "payroll-2026-10-0001",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank(message = "idempotencyId is required")
+        String idempotencyId) {
+
+  public BulkItem toBulkItem() {
+    return new BulkItem(walletId, amount, idempotencyId);
+  }
+}
@@ -0,0 +1,51 @@
+package br.com.recargapay.wallet.application.definitions;
+
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionResult;
+import br.com.recargapay.wallet.infrastructure.common.Either;
+import br.com.recargapay.wallet.infrastructure.common.Error;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+@Schema(description = "Response object with the outcome of each operation of a bulk request")
+public record BulkOperationResponse(
+    @Schema(description = "Outcomes in the same order as the request items") List<Result> results) {
+
+  @Schema(description = "Outcome of one operation, either a transaction or an error")
+  public record Result(
+      @Schema(
+              description =
+                  "Wallet the operation targets; the destination wallet for batch transfers",
+              example = "550e8400-e29b-41d4-a716-446655440001")
+          UUID walletId,
+      @Schema(description = "Idempotency ID of the operation", example = "payroll-2026-10-0001")
+          String idempotencyId,
+      @Schema(description = "Transaction created or replayed for the operation")
+          TransactionResponse transaction,
+      @Schema(description = "Reason the operation was rejected") Error error) {
+
+    public static Result of(
+        UUID walletId, String idempotencyId, Either<Error, TransactionResult> outcome) {
+      return outcome.fold(
+          error -> new Result(walletId, idempotencyId, null, error),
+          result ->
+              new Result(
+                  walletId,
+                  idempotencyId,
+                  TransactionResponse.from(result.transaction(), result.balance()),
+                  null));
+    }
+  }
+
+  public static BulkOperationResponse from(
+      List<BulkOperationItem> items, List<Either<Error, TransactionResult>> outcomes) {
+    return new BulkOperationResponse(
+        IntStream.range(0, items.size())
+            .mapToObj(
+                i ->
+                    Result.of(
+                        items.get(i).walletId(), items.get(i).idempotencyId(), outcomes.get(i)))
+            .toList());
+  }
+}
@@ -0,0 +1,14 @@
+package br.com.recargapay.wallet.application.definitions;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Request object for marking a wallet as hot")
+public record HotWalletRequest(
+    @Schema(
+            description =
+                "Whether credits to the wallet are buffered and folded into its balance in batches",
+            example = "true",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "hot is required")
+        Boolean hot) {}
@@ -0,0 +1,45 @@
+package br.com.recargapay.wallet.application.definitions;
+
+import br.com.recargapay.wallet.domain.transaction.model.Status;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Schema(description = "Transaction of the wallet history")
+public record TransactionHistoryItem(
+    @Schema(
+            description = "Unique identifier of the transaction",
+            example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID id,
+    @Schema(
+            description =
+                "Wallet the transaction was made from; differs from the customer's wallet for"
+                    + " incoming transfers",
+            example = "550e8400-e29b-41d4-a716-446655440001")
+        UUID walletId,
+    @Schema(
+            description = "Destination wallet, for transfers",
+            example = "550e8400-e29b-41d4-a716-446655440002")
+        UUID walletDestinationId,
+    @Schema(description = "Idempotency ID the transaction was created with", example = "abc-123")
+        String idempotencyId,
+    @Schema(description = "Type of the transaction", example = "TRANSFER") Type type,
+    @Schema(description = "Status of the transaction", example = "PROCESSED") Status status,
+    @Schema(description = "Amount of the transaction", example = "100.00") BigDecimal amount,
+    @Schema(description = "Timestamp when the transaction was created") OffsetDateTime createdAt) {
+
+  public static TransactionHistoryItem from(Transaction transaction) {
+    return new TransactionHistoryItem(
+        transaction.getId(),
+        transaction.getWalletId(),
+        transaction.getWalletDestinationId(),
+        transaction.getIdempotencyId(),
+        transaction.getType(),
+        transaction.getStatus(),
+        transaction.getAmount(),
+        transaction.getCreatedAt());
+  }
+}
@@ -0,0 +1,59 @@
+package br.com.recargapay.wallet.application.definitions;
+
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryCursor;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryPage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Response object with one page of the wallet transaction history")
+public record TransactionHistoryResponse(
+    @Schema(description = "Transactions of the page, newest first")
+        List<TransactionHistoryItem> items,
+    @Schema(
+            description =
+                "Opaque token to pass as cursor to get the next page; absent on the last page",
+            example =
+                "MjAyNi0xMC0xOFQxMjowMDowMFp8NTUwZTg0MDAtZTI5Yi00MWQ0LWE3MTYtNDQ2NjU1NDQwMDAw")
+        String nextCursor) {
+
+  private static final String SEPARATOR = "|";
+
+  public static TransactionHistoryResponse from(TransactionHistoryPage page) {
+    return new TransactionHistoryResponse(
+        page.transactions().stream().map(TransactionHistoryItem::from).toList(),
+        page.next() == null ? null : encode(page.next()));
+  }
+
+  static String encode(TransactionHistoryCursor cursor) {
+    var token = cursor.createdAt().toInstant() + SEPARATOR + cursor.id();
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(token.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Reads a token produced for {@link #nextCursor()}; a missing token starts from the newest
+   * transaction.
+   *
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static TransactionHistoryCursor decodeCursor(String token) {
+    if (token == null || token.isBlank()) {
+      return TransactionHistoryCursor.start();
+    }
+    try {
+      var decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      var separator = decoded.indexOf(SEPARATOR);
+      return new TransactionHistoryCursor(
+          Instant.parse(decoded.substring(0, separator)).atOffset(ZoneOffset.UTC),
+          UUID.fromString(decoded.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + token, e);
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package br.com.recargapay.wallet.application.definitions;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Schema(description = "Request object for paying many destinations from the default wallet")
+public record TransferBatchRequest(
+    @Schema(description = "Transfers to create", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotEmpty(message = "items is required")
+        @Size(max = 1000, message = "items must have at most 1000 transfers")
+        List<@Valid TransferBatchItem> items) {}
@@ -0,0 +1,20 @@
+package br.com.recargapay.wallet.application.definitions;
+
+import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.UUID;
+
+@Schema(description = "Operational settings of a wallet")
+public record WalletSettingsResponse(
+    @Schema(
+            description = "Unique identifier of the wallet",
+            example = "550e8400-e29b-41d4-a716-446655440001")
+        UUID id,
+    @Schema(description = "Whether credits to the wallet are buffered", example = "false")
+        boolean hot,
+    @Schema(description = "Number of rows the balance is spread over", example = "8")
+        int balanceShards) {
+  public static WalletSettingsResponse toResponse(Wallet wallet) {
+    return new WalletSettingsResponse(wallet.getId(), wallet.isHot(), wallet.getBalanceShards());
+  }
+}
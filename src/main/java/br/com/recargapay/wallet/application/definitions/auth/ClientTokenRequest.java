@@ -0,0 +1,19 @@
+package br.com.recargapay.wallet.application.definitions.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Request object for a service client token")
+public record ClientTokenRequest(
+    @Schema(
+            description = "Identifier of the service client",
+            example = "payroll-service",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank
+        String clientId,
+    @Schema(
+            description = "Secret of the service client",
+            example = "s3cr3t",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank
+        String clientSecret) {}
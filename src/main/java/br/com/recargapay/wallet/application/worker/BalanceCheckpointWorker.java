@@ -0,0 +1,34 @@
+package br.com.recargapay.wallet.application.worker;
+
+import br.com.recargapay.wallet.domain.wallet.service.BalanceCheckpointService;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class BalanceCheckpointWorker {
+
+  private static final Duration CHECKPOINT_PERIOD = Duration.ofDays(1);
+
+  private final BalanceCheckpointService balanceCheckpointService;
+
+  public BalanceCheckpointWorker(BalanceCheckpointService balanceCheckpointService) {
+    this.balanceCheckpointService = balanceCheckpointService;
+  }
+
+  @Scheduled(cron = "${wallet.balance.checkpoint.cron}", zone = "UTC")
+  void process() {
+    var cutoff = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+
+    log.info("Creating balance checkpoints at {}", cutoff);
+
+    var created = balanceCheckpointService.createCheckpoints(cutoff, CHECKPOINT_PERIOD);
+
+    log.info("Created {} balance checkpoints at {}", created, cutoff);
+  }
+}
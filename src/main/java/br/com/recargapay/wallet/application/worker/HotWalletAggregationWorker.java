@@ -0,0 +1,29 @@
+package br.com.recargapay.wallet.application.worker;
+
+import br.com.recargapay.wallet.domain.wallet.service.HotWalletAggregationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class HotWalletAggregationWorker {
+
+  private final HotWalletAggregationService hotWalletAggregationService;
+
+  public HotWalletAggregationWorker(HotWalletAggregationService hotWalletAggregationService) {
+    this.hotWalletAggregationService = hotWalletAggregationService;
+  }
+
+  @Scheduled(fixedDelayString = "${wallet.hot-wallet.aggregation.fixed-delay-ms}")
+  void process() {
+    try {
+      var folded = hotWalletAggregationService.foldPendingCredits();
+      if (folded > 0) {
+        log.info("Folded pending credits of {} hot wallets", folded);
+      }
+    } catch (Exception e) {
+      log.error("Error folding hot wallet credits", e);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package br.com.recargapay.wallet.application.worker;
+
+import br.com.recargapay.wallet.domain.outbox.service.OutboxRelayService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class OutboxRelayWorker {
+
+  private final OutboxRelayService outboxRelayService;
+
+  public OutboxRelayWorker(OutboxRelayService outboxRelayService) {
+    this.outboxRelayService = outboxRelayService;
+  }
+
+  @Scheduled(fixedDelayString = "${wallet.outbox.relay.fixed-delay-ms}")
+  void process() {
+    try {
+      var published = outboxRelayService.relayPending();
+      if (published > 0) {
+        log.info("Relayed {} outbox messages", published);
+      }
+    } catch (Exception e) {
+      log.error("Error relaying outbox messages", e);
+    }
+  }
+}
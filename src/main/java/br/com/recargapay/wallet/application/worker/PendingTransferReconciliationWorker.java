@@ -0,0 +1,30 @@
+package br.com.recargapay.wallet.application.worker;
+
+import br.com.recargapay.wallet.domain.wallet.service.PendingTransferReconciliationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class PendingTransferReconciliationWorker {
+
+  private final PendingTransferReconciliationService pendingTransferReconciliationService;
+
+  public PendingTransferReconciliationWorker(
+      PendingTransferReconciliationService pendingTransferReconciliationService) {
+    this.pendingTransferReconciliationService = pendingTransferReconciliationService;
+  }
+
+  @Scheduled(fixedDelayString = "${wallet.transfer.reconciliation.fixed-delay-ms}")
+  void process() {
+    try {
+      var reconciled = pendingTransferReconciliationService.reconcile();
+      if (reconciled > 0) {
+        log.warn("Reconciled {} stale pending transfers", reconciled);
+      }
+    } catch (Exception e) {
+      log.error("Error reconciling pending transfers", e);
+    }
+  }
+}
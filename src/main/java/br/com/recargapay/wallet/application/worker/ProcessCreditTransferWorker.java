@@ -3,6 +3,7 @@ package br.com.recargapay.wallet.application.worker;
 import br.com.recargapay.wallet.domain.transaction.event.TransferCreditPendingEvent;
 import br.com.recargapay.wallet.domain.wallet.service.TransferService;
 import io.awspring.cloud.sqs.annotation.SqsListener;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -16,11 +17,12 @@ public class ProcessCreditTransferWorker {
     this.transferService = transferService;
   }
 
-  @SqsListener("${aws.sqs.queues.transfer-credit-pending}")
-  void process(TransferCreditPendingEvent event) {
+  @SqsListener(value = "${aws.sqs.queues.transfer-credit-pending}", maxMessagesPerPoll = "10")
+  void process(List<TransferCreditPendingEvent> events) {
+    var transactionIds = events.stream().map(TransferCreditPendingEvent::transactionId).toList();
 
-    log.info("Processing credit for transfer of transactionId: {}", event.transactionId());
+    log.info("Processing credit for transfers of transactionIds: {}", transactionIds);
 
-    transferService.processDestinationCredit(event.transactionId());
+    transferService.processDestinationCredits(transactionIds);
   }
 }
@@ -0,0 +1,92 @@
+package br.com.recargapay.wallet.domain.outbox.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Message written in the same database transaction as the change that produced it and relayed to
+ * its destination queue afterwards. A row is deleted once the queue acknowledged it.
+ */
+@Table(name = "outbox")
+@Entity
+public class OutboxMessage implements Persistable<UUID> {
+  @Id private UUID id;
+
+  @Column(name = "aggregate_id", nullable = false)
+  private UUID aggregateId;
+
+  @Column(name = "type", nullable = false)
+  private String type;
+
+  @Column(name = "destination", nullable = false)
+  private String destination;
+
+  @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+  private String payload;
+
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt;
+
+  @Transient private boolean persisted;
+
+  public OutboxMessage() {}
+
+  public OutboxMessage(
+      UUID id,
+      UUID aggregateId,
+      String type,
+      String destination,
+      String payload,
+      OffsetDateTime createdAt) {
+    this.id = id;
+    this.aggregateId = aggregateId;
+    this.type = type;
+    this.destination = destination;
+    this.payload = payload;
+    this.createdAt = createdAt;
+  }
+
+  @Override
+  public UUID getId() {
+    return id;
+  }
+
+  public UUID getAggregateId() {
+    return aggregateId;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public String getDestination() {
+    return destination;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    this.persisted = true;
+  }
+}
@@ -0,0 +1,19 @@
+package br.com.recargapay.wallet.domain.outbox.repository;
+
+import br.com.recargapay.wallet.domain.outbox.model.OutboxMessage;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxRepository {
+
+  void create(OutboxMessage message);
+
+  /**
+   * Locks the oldest messages for relaying, skipping rows already locked by another relay. Must be
+   * called inside a transaction; the locks are held until it ends.
+   */
+  List<OutboxMessage> lockNextBatch(int limit);
+
+  void deleteAllById(Collection<UUID> ids);
+}
@@ -0,0 +1,101 @@
+package br.com.recargapay.wallet.domain.outbox.service;
+
+import br.com.recargapay.wallet.domain.outbox.model.OutboxMessage;
+import br.com.recargapay.wallet.domain.outbox.repository.OutboxRepository;
+import br.com.recargapay.wallet.infrastructure.messaging.SqsPublisher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+
+@Service
+@Slf4j
+public class OutboxRelayService {
+
+  static final int MAX_BATCH_ENTRIES = 10;
+
+  private final OutboxRepository outboxRepository;
+  private final SqsPublisher sqsPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public OutboxRelayService(
+      OutboxRepository outboxRepository,
+      SqsPublisher sqsPublisher,
+      TransactionTemplate transactionTemplate,
+      @Value("${wallet.outbox.relay.batch-size}") int batchSize) {
+    this.outboxRepository = outboxRepository;
+    this.sqsPublisher = sqsPublisher;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Publishes the next batch of outbox messages and deletes the ones the queue acknowledged. Failed
+   * messages stay in the outbox and are retried on the next run, so delivery is at-least-once.
+   *
+   * @return the number of messages published
+   */
+  public int relayPending() {
+    return transactionTemplate.execute(
+        status -> {
+          var messages = outboxRepository.lockNextBatch(batchSize);
+          if (messages.isEmpty()) {
+            return 0;
+          }
+
+          var batches = new ArrayList<CompletableFuture<List<UUID>>>();
+          messages.stream()
+              .collect(Collectors.groupingBy(OutboxMessage::getDestination))
+              .forEach(
+                  (destination, group) -> {
+                    for (int i = 0; i < group.size(); i += MAX_BATCH_ENTRIES) {
+                      batches.add(
+                          sendBatch(
+                              destination,
+                              group.subList(i, Math.min(i + MAX_BATCH_ENTRIES, group.size()))));
+                    }
+                  });
+
+          var published =
+              batches.stream().map(CompletableFuture::join).flatMap(List::stream).toList();
+          if (!published.isEmpty()) {
+            outboxRepository.deleteAllById(published);
+          }
+          return published.size();
+        });
+  }
+
+  private CompletableFuture<List<UUID>> sendBatch(String queueName, List<OutboxMessage> messages) {
+    var entries =
+        messages.stream()
+            .map(
+                m ->
+                    SendMessageBatchRequestEntry.builder()
+                        .id(m.getId().toString())
+                        .messageBody(m.getPayload())
+                        .build())
+            .toList();
+    return sqsPublisher
+        .publishBatch(queueName, entries)
+        .thenApply(
+            response -> {
+              response
+                  .failed()
+                  .forEach(
+                      f -> log.error("Error relaying outbox message {}: {}", f.id(), f.message()));
+              return response.successful().stream().map(s -> UUID.fromString(s.id())).toList();
+            })
+        .exceptionally(
+            e -> {
+              log.error("Error relaying {} outbox messages to {}", messages.size(), queueName, e);
+              return List.of();
+            });
+  }
+}
@@ -5,14 +5,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
+import org.springframework.data.domain.Persistable;
 
 @Table(name = "entries")
 @Entity
-public class Entry {
+public class Entry implements Persistable<UUID> {
   @Id private UUID id;
 
   @Column(name = "wallet_id")
@@ -31,6 +35,12 @@ public class Entry {
   @Column(name = "created_at")
   private OffsetDateTime createdAt;
 
+  /** Credit to a hot wallet not yet folded into {@code wallets.balance}. */
+  @Column(name = "pending_fold", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+  private boolean pendingFold;
+
+  @Transient private boolean persisted;
+
   public Entry() {}
 
   public Entry(
@@ -40,18 +50,42 @@ public class Entry {
       BigDecimal amount,
       FinancialType financialType,
       OffsetDateTime createdAt) {
+    this(id, walletId, transactionId, amount, financialType, createdAt, false);
+  }
+
+  public Entry(
+      UUID id,
+      UUID walletId,
+      UUID transactionId,
+      BigDecimal amount,
+      FinancialType financialType,
+      OffsetDateTime createdAt,
+      boolean pendingFold) {
     this.id = id;
     this.walletId = walletId;
     this.transactionId = transactionId;
     this.amount = amount;
     this.financialType = financialType;
     this.createdAt = createdAt;
+    this.pendingFold = pendingFold;
   }
 
+  @Override
   public UUID getId() {
     return id;
   }
 
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    this.persisted = true;
+  }
+
   public UUID getWalletId() {
     return walletId;
   }
@@ -71,4 +105,8 @@ public class Entry {
   public OffsetDateTime getCreatedAt() {
     return createdAt;
   }
+
+  public boolean isPendingFold() {
+    return pendingFold;
+  }
 }
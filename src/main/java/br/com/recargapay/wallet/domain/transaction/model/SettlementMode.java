@@ -0,0 +1,11 @@
+package br.com.recargapay.wallet.domain.transaction.model;
+
+/** How the destination of a transfer is credited. */
+public enum SettlementMode {
+  /** Credits the destination in the same database transaction as the debit. */
+  SYNC,
+  /** Leaves the transfer PENDING and credits the destination from the outbox and SQS. */
+  ASYNC,
+  /** SYNC for ordinary destinations, ASYNC for hot or sharded ones that see heavy contention. */
+  AUTO;
+}
@@ -4,16 +4,21 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
 
 @Entity(name = "transactions")
-@Table(name = "transactions")
+@Table(
+    name = "transactions",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "unkn_wallet_destination_id",
+            columnNames = {"wallet_id", "idempotency_id", "type"}))
 @Getter
-@AllArgsConstructor
 @NoArgsConstructor
-public class Transaction {
+public class Transaction implements Persistable<UUID> {
 
   @Id private UUID id;
 
@@ -43,6 +48,43 @@ public class Transaction {
   @Column(name = "updated_at")
   private OffsetDateTime updatedAt;
 
+  @Transient
+  @Getter(AccessLevel.NONE)
+  private boolean persisted;
+
+  public Transaction(
+      UUID id,
+      UUID walletId,
+      UUID walletDestinationId,
+      String idempotencyId,
+      BigDecimal amount,
+      Type type,
+      Status status,
+      OffsetDateTime createdAt,
+      OffsetDateTime updatedAt) {
+    this.id = id;
+    this.walletId = walletId;
+    this.walletDestinationId = walletDestinationId;
+    this.idempotencyId = idempotencyId;
+    this.amount = amount;
+    this.type = type;
+    this.status = status;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+  }
+
+  /** Ids are assigned by the application, so new instances are persisted without a merge. */
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    this.persisted = true;
+  }
+
   public void processed() {
     this.status = Status.PROCESSED;
     this.updatedAt = OffsetDateTime.now();
@@ -1,6 +1,7 @@
 package br.com.recargapay.wallet.domain.transaction.repository;
 
 import br.com.recargapay.wallet.domain.transaction.model.Entry;
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -11,5 +12,19 @@ public interface EntryRepository {
 
   List<Entry> create(List<Entry> entries);
 
-  List<Entry> findByWalletIdAndCreatedAtBeforeOrderByCreatedAtAsc(UUID walletId, OffsetDateTime at);
+  BigDecimal sumSignedAmountByWalletIdAndCreatedAtBefore(UUID walletId, OffsetDateTime at);
+
+  BigDecimal sumSignedAmountByWalletIdAndCreatedAtBetween(
+      UUID walletId, OffsetDateTime from, OffsetDateTime to);
+
+  List<UUID> findWalletIdsWithEntriesBetween(OffsetDateTime from, OffsetDateTime to);
+
+  List<UUID> findWalletIdsWithPendingFold(int limit);
+
+  /**
+   * Marks every pending credit of the wallet as folded.
+   *
+   * @return the total amount of the credits that were pending
+   */
+  BigDecimal foldPendingByWalletId(UUID walletId);
 }
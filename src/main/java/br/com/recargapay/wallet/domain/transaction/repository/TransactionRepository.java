@@ -2,6 +2,11 @@ package br.com.recargapay.wallet.domain.transaction.repository;
 
 import br.com.recargapay.wallet.domain.transaction.model.Transaction;
 import br.com.recargapay.wallet.domain.transaction.model.Type;
+import br.com.recargapay.wallet.domain.transaction.vo.PendingTransferCursor;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryCursor;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -9,10 +14,52 @@ public interface TransactionRepository {
 
   void create(Transaction transaction);
 
+  /**
+   * Inserts the transaction unless its wallet already holds one with the same idempotency id and
+   * type, or the wallet does not exist.
+   *
+   * @return whether the transaction was inserted
+   */
+  boolean createIfAbsent(Transaction transaction);
+
+  void create(List<Transaction> transactions);
+
   Optional<Transaction> findByWalletIdAndIdempotencyIdAndType(
       UUID walletId, String idempotencyId, Type type);
 
+  /**
+   * Finds transactions of the given type whose wallet and idempotency id are both among the given
+   * values. Callers match the exact (wallet, idempotency id) pairs themselves.
+   */
+  List<Transaction> findAllByWalletIdInAndIdempotencyIdInAndType(
+      Collection<UUID> walletIds, Collection<String> idempotencyIds, Type type);
+
   void update(Transaction transaction);
 
   Optional<Transaction> loadById(UUID transactionId);
+
+  List<Transaction> loadAllById(Collection<UUID> transactionIds);
+
+  /**
+   * Moves the given transfers from PENDING to PROCESSED.
+   *
+   * @return the ids that were still pending and are now processed by the caller's transaction
+   */
+  List<UUID> markTransfersProcessed(Collection<UUID> transactionIds);
+
+  /** Creation time of the oldest transfer still waiting for its destination credit. */
+  Optional<OffsetDateTime> findOldestPendingTransferCreatedAt();
+
+  /**
+   * Returns up to {@code limit} pending transfers last updated before {@code updatedBefore} that
+   * come after {@code cursor} in {@code (updated_at, id)} order.
+   */
+  List<Transaction> findPendingTransfersUpdatedBefore(
+      OffsetDateTime updatedBefore, PendingTransferCursor cursor, int limit);
+
+  /**
+   * Returns up to {@code limit} transactions of the wallet, including transfers it receives, that
+   * come before {@code cursor}, newest first in {@code (created_at, id)} order.
+   */
+  List<Transaction> findByWalletIdBefore(UUID walletId, TransactionHistoryCursor cursor, int limit);
 }
@@ -0,0 +1,9 @@
+package br.com.recargapay.wallet.domain.transaction.vo;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.jspecify.annotations.NonNull;
+
+/** One wallet operation of a bulk deposit or withdrawal. */
+public record BulkItem(
+    @NonNull UUID walletId, @NonNull BigDecimal amount, @NonNull String idempotencyId) {}
@@ -0,0 +1,23 @@
+package br.com.recargapay.wallet.domain.transaction.vo;
+
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.jspecify.annotations.NonNull;
+
+/** Position in a scan of pending transfers ordered by {@code (updated_at, id)}. */
+public record PendingTransferCursor(@NonNull OffsetDateTime updatedAt, @NonNull UUID id) {
+
+  private static final PendingTransferCursor START =
+      new PendingTransferCursor(
+          OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), new UUID(0, 0));
+
+  public static PendingTransferCursor start() {
+    return START;
+  }
+
+  public static PendingTransferCursor after(Transaction transaction) {
+    return new PendingTransferCursor(transaction.getUpdatedAt(), transaction.getId());
+  }
+}
@@ -0,0 +1,26 @@
+package br.com.recargapay.wallet.domain.transaction.vo;
+
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Position in a wallet's transaction history, which is listed newest first in {@code (created_at,
+ * id)} order. A page holds the transactions strictly before the cursor.
+ */
+public record TransactionHistoryCursor(@NonNull OffsetDateTime createdAt, @NonNull UUID id) {
+
+  private static final TransactionHistoryCursor START =
+      new TransactionHistoryCursor(
+          OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC), new UUID(-1L, -1L));
+
+  public static TransactionHistoryCursor start() {
+    return START;
+  }
+
+  public static TransactionHistoryCursor after(Transaction transaction) {
+    return new TransactionHistoryCursor(transaction.getCreatedAt(), transaction.getId());
+  }
+}
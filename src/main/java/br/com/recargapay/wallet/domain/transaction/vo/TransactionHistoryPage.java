@@ -0,0 +1,10 @@
+package br.com.recargapay.wallet.domain.transaction.vo;
+
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import java.util.List;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/** One page of a wallet's transaction history; {@code next} is null on the last page. */
+public record TransactionHistoryPage(
+    @NonNull List<Transaction> transactions, @Nullable TransactionHistoryCursor next) {}
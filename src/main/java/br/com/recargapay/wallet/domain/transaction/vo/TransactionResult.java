@@ -0,0 +1,23 @@
+package br.com.recargapay.wallet.domain.transaction.vo;
+
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import java.math.BigDecimal;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Transaction together with the available balance of its wallet, read in the same database
+ * transaction that performed the operation. A replayed result comes from a transaction created by
+ * an earlier request with the same idempotency id and carries the current balance instead.
+ */
+public record TransactionResult(
+    @NonNull Transaction transaction, @NonNull BigDecimal balance, boolean replayed) {
+
+  public TransactionResult(@NonNull Transaction transaction, @NonNull BigDecimal balance) {
+    this(transaction, balance, false);
+  }
+
+  public static TransactionResult replayed(
+      @NonNull Transaction transaction, @NonNull BigDecimal balance) {
+    return new TransactionResult(transaction, balance, true);
+  }
+}
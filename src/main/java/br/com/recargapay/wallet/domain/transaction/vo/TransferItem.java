@@ -0,0 +1,9 @@
+package br.com.recargapay.wallet.domain.transaction.vo;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.jspecify.annotations.NonNull;
+
+/** One destination of a batch transfer out of a single origin wallet. */
+public record TransferItem(
+    @NonNull UUID destinationWalletId, @NonNull BigDecimal amount, @NonNull String idempotencyId) {}
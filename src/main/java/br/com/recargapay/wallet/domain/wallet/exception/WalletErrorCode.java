@@ -1,5 +1,7 @@
 package br.com.recargapay.wallet.domain.wallet.exception;
 
+import java.util.Arrays;
+import java.util.Optional;
 import lombok.Getter;
 
 @Getter
@@ -8,7 +10,9 @@ public enum WalletErrorCode {
   INSUFFICIENT_BALANCE("W:002", "Insufficient balance"),
   CURRENCY_MISMATCH("W:003", "Currency mismatch between wallets"),
   INVALID_AMOUNT("W:004", "Amount must be greater than zero"),
-  SAME_WALLET_TRANSFER("W:005", "Origin and destination wallets must be different");
+  SAME_WALLET_TRANSFER("W:005", "Origin and destination wallets must be different"),
+  IDEMPOTENCY_ID_CONFLICT(
+      "W:006", "Idempotency ID already used by another item of the request with different data");
 
   private final String code;
   private final String message;
@@ -17,4 +21,8 @@ public enum WalletErrorCode {
     this.code = code;
     this.message = message;
   }
+
+  public static Optional<WalletErrorCode> fromCode(String code) {
+    return Arrays.stream(values()).filter(c -> c.code.equals(code)).findFirst();
+  }
 }
@@ -0,0 +1,72 @@
+package br.com.recargapay.wallet.domain.wallet.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Balance of a wallet folded from every entry created strictly before {@code checkpointAt}.
+ * Historical balance queries start from the nearest checkpoint and only read the entries after it.
+ */
+@Table(
+    name = "balance_checkpoints",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "unq_balance_checkpoint_wallet_checkpoint_at",
+            columnNames = {"wallet_id", "checkpoint_at"}))
+@Entity
+public class BalanceCheckpoint {
+  @Id private UUID id;
+
+  @Column(name = "wallet_id", nullable = false)
+  private UUID walletId;
+
+  @Column(name = "balance", nullable = false)
+  private BigDecimal balance;
+
+  @Column(name = "checkpoint_at", nullable = false)
+  private OffsetDateTime checkpointAt;
+
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt;
+
+  public BalanceCheckpoint() {}
+
+  public BalanceCheckpoint(
+      UUID id,
+      UUID walletId,
+      BigDecimal balance,
+      OffsetDateTime checkpointAt,
+      OffsetDateTime createdAt) {
+    this.id = id;
+    this.walletId = walletId;
+    this.balance = balance;
+    this.checkpointAt = checkpointAt;
+    this.createdAt = createdAt;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public UUID getWalletId() {
+    return walletId;
+  }
+
+  public BigDecimal getBalance() {
+    return balance;
+  }
+
+  public OffsetDateTime getCheckpointAt() {
+    return checkpointAt;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+}
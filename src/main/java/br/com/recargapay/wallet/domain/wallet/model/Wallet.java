@@ -8,12 +8,20 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import org.jspecify.annotations.NonNull;
 
-@Table(name = "wallets")
+@Table(
+    name = "wallets",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "unq_customer_currency",
+            columnNames = {"customer_id", "currency"}))
 @Entity
 public class Wallet {
   @Id private UUID id;
@@ -21,6 +29,7 @@ public class Wallet {
   @Column(name = "customer_id", nullable = false)
   private UUID customerId;
 
+  /** For sharded wallets this is only the part not yet moved to {@link WalletBalanceShard}s. */
   @Column(name = "balance", nullable = false)
   private BigDecimal balance;
 
@@ -31,6 +40,16 @@ public class Wallet {
   @Column(name = "active", nullable = false)
   private boolean active;
 
+  /**
+   * Hot wallets receive transfer credits as pending entries that are folded into {@code balance} in
+   * batches, so the wallet row is not locked once per credit.
+   */
+  @Column(name = "hot", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+  private boolean hot;
+
+  @Column(name = "balance_shards", nullable = false, columnDefinition = "INTEGER DEFAULT 1")
+  private int balanceShards = 1;
+
   @Column(name = "created_at", nullable = false)
   private OffsetDateTime createdAt;
 
@@ -84,6 +103,41 @@ public class Wallet {
     return active;
   }
 
+  public boolean isHot() {
+    return hot;
+  }
+
+  public int getBalanceShards() {
+    return balanceShards;
+  }
+
+  public boolean isSharded() {
+    return balanceShards > 1;
+  }
+
+  /**
+   * Spreads the balance over {@code shards} rows. The current balance goes to shard 0 and every new
+   * shard starts empty.
+   *
+   * @return the shards that must be created
+   */
+  public List<WalletBalanceShard> shard(int shards) {
+    if (shards <= balanceShards) {
+      throw new IllegalArgumentException(
+          "Wallet " + id + " already has " + balanceShards + " balance shards");
+    }
+    var created = new ArrayList<WalletBalanceShard>();
+    for (int shard = isSharded() ? balanceShards : 0; shard < shards; shard++) {
+      created.add(new WalletBalanceShard(id, shard, shard == 0 ? balance : BigDecimal.ZERO));
+    }
+    if (!isSharded()) {
+      balance = BigDecimal.ZERO;
+    }
+    balanceShards = shards;
+    updatedAt = OffsetDateTime.now();
+    return created;
+  }
+
   public void deposit(@NonNull BigDecimal amount) {
     balance = balance.add(amount);
     this.updatedAt = OffsetDateTime.now();
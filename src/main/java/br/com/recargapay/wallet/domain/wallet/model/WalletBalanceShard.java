@@ -0,0 +1,71 @@
+package br.com.recargapay.wallet.domain.wallet.model;
+
+import br.com.recargapay.wallet.infrastructure.common.UUIDGenerator;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Slice of the balance of a sharded wallet. The wallet balance is {@code wallets.balance} plus the
+ * sum of its shards, so concurrent operations on the same wallet update different rows.
+ */
+@Table(
+    name = "wallet_balance_shards",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "unq_wallet_balance_shard_wallet_shard",
+            columnNames = {"wallet_id", "shard"}))
+@Entity
+public class WalletBalanceShard {
+  @Id private UUID id;
+
+  @Column(name = "wallet_id", nullable = false)
+  private UUID walletId;
+
+  @Column(name = "shard", nullable = false)
+  private int shard;
+
+  @Column(name = "balance", nullable = false)
+  private BigDecimal balance;
+
+  public WalletBalanceShard() {}
+
+  public WalletBalanceShard(UUID walletId, int shard, BigDecimal balance) {
+    this.id = UUIDGenerator.generate();
+    this.walletId = walletId;
+    this.shard = shard;
+    this.balance = balance;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public UUID getWalletId() {
+    return walletId;
+  }
+
+  public int getShard() {
+    return shard;
+  }
+
+  public BigDecimal getBalance() {
+    return balance;
+  }
+
+  /**
+   * Takes up to {@code amount} from this shard.
+   *
+   * @return the amount actually taken
+   */
+  public BigDecimal drain(@NonNull BigDecimal amount) {
+    var taken = balance.min(amount);
+    balance = balance.subtract(taken);
+    return taken;
+  }
+}
@@ -0,0 +1,13 @@
+package br.com.recargapay.wallet.domain.wallet.repository;
+
+import br.com.recargapay.wallet.domain.wallet.model.BalanceCheckpoint;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BalanceCheckpointRepository {
+
+  void create(BalanceCheckpoint checkpoint);
+
+  Optional<BalanceCheckpoint> findLatestByWalletIdAtOrBefore(UUID walletId, OffsetDateTime at);
+}
@@ -2,6 +2,7 @@ package br.com.recargapay.wallet.domain.wallet.repository;
 
 import br.com.recargapay.wallet.domain.wallet.model.Wallet;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,9 +13,50 @@ public interface WalletRepository {
 
   Optional<Wallet> findById(UUID walletId);
 
+  List<Wallet> findAllById(Collection<UUID> walletIds);
+
+  /**
+   * Reads the stored balance plus the credits still pending fold in a single statement, so both
+   * come from the same snapshot. Does not lock the wallet and runs read-only, so it is served by
+   * the replica when one is configured.
+   */
+  Optional<BigDecimal> findAvailableBalanceById(UUID walletId);
+
+  void updateHot(UUID walletId, boolean hot);
+
   Wallet save(Wallet wallet);
 
-  void creditBalance(UUID walletId, BigDecimal amount);
+  /**
+   * Inserts the wallet unless the customer already has one in the same currency.
+   *
+   * @return the inserted wallet, or empty when a wallet for the customer and currency exists
+   */
+  Optional<Wallet> createIfAbsent(Wallet wallet);
+
+  /**
+   * Splits the wallet balance across {@code shards} rows so that credits and debits on the same
+   * wallet stop contending on a single row. Only increasing the shard count is supported.
+   *
+   * @return the updated wallet, or empty when the wallet does not exist
+   */
+  Optional<Wallet> enableBalanceSharding(UUID walletId, int shards);
+
+  /**
+   * Atomically adds {@code amount} to the wallet balance. Sharded wallets are credited on a random
+   * shard.
+   *
+   * @return the new available balance, or empty when the wallet does not exist
+   */
+  Optional<BigDecimal> creditBalance(UUID walletId, BigDecimal amount);
+
+  /**
+   * Atomically subtracts {@code amount} from the wallet balance if it is enough to cover it.
+   * Sharded wallets are debited on a random shard first, falling back to a sweep over all shards.
+   *
+   * @return the new available balance, or empty when the wallet does not exist or has insufficient
+   *     balance
+   */
+  Optional<BigDecimal> debitBalance(UUID walletId, BigDecimal amount);
 
   List<Wallet> listByCustomerIdAndCurrency(UUID customerId, String currency);
 
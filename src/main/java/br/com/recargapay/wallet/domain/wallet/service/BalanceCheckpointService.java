@@ -0,0 +1,53 @@
+package br.com.recargapay.wallet.domain.wallet.service;
+
+import static br.com.recargapay.wallet.infrastructure.common.UUIDGenerator.generate;
+
+import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
+import br.com.recargapay.wallet.domain.wallet.model.BalanceCheckpoint;
+import br.com.recargapay.wallet.domain.wallet.repository.BalanceCheckpointRepository;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class BalanceCheckpointService {
+  private final WalletService walletService;
+  private final EntryRepository entryRepository;
+  private final BalanceCheckpointRepository balanceCheckpointRepository;
+
+  public BalanceCheckpointService(
+      WalletService walletService,
+      EntryRepository entryRepository,
+      BalanceCheckpointRepository balanceCheckpointRepository) {
+    this.walletService = walletService;
+    this.entryRepository = entryRepository;
+    this.balanceCheckpointRepository = balanceCheckpointRepository;
+  }
+
+  /**
+   * Writes a checkpoint at {@code cutoff} for every wallet that had entries during the {@code
+   * period} before it. Wallets without activity keep pointing to their previous checkpoint.
+   */
+  public int createCheckpoints(OffsetDateTime cutoff, Duration period) {
+    var walletIds = entryRepository.findWalletIdsWithEntriesBetween(cutoff.minus(period), cutoff);
+    var created = 0;
+    for (UUID walletId : walletIds) {
+      try {
+        createCheckpoint(walletId, cutoff);
+        created++;
+      } catch (Exception e) {
+        log.error("Error creating balance checkpoint for walletId: {} at {}", walletId, cutoff, e);
+      }
+    }
+    return created;
+  }
+
+  public void createCheckpoint(UUID walletId, OffsetDateTime cutoff) {
+    var balance = walletService.retrieveHistoricalBalance(walletId, cutoff);
+    balanceCheckpointRepository.create(
+        new BalanceCheckpoint(generate(), walletId, balance, cutoff, OffsetDateTime.now()));
+  }
+}
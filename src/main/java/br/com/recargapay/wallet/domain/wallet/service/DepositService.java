@@ -1,7 +1,7 @@
 package br.com.recargapay.wallet.domain.wallet.service;
 
 import static br.com.recargapay.wallet.domain.transaction.model.FinancialType.CREDIT;
-import static br.com.recargapay.wallet.domain.transaction.model.Status.PENDING;
+import static br.com.recargapay.wallet.domain.transaction.model.Status.PROCESSED;
 import static br.com.recargapay.wallet.domain.transaction.model.Type.DEPOSIT;
 import static br.com.recargapay.wallet.infrastructure.common.UUIDGenerator.generate;
 
@@ -9,15 +9,29 @@ import br.com.recargapay.wallet.domain.transaction.model.Entry;
 import br.com.recargapay.wallet.domain.transaction.model.Transaction;
 import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
 import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.BulkItem;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionResult;
 import br.com.recargapay.wallet.domain.wallet.exception.WalletErrorCode;
-import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.exception.WalletNotFoundException;
 import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
 import br.com.recargapay.wallet.infrastructure.common.Either;
 import br.com.recargapay.wallet.infrastructure.common.Error;
+import br.com.recargapay.wallet.infrastructure.metrics.WalletOperationMetrics;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.jspecify.annotations.NonNull;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -27,21 +41,28 @@ public class DepositService {
   private final TransactionRepository transactionRepository;
   private final EntryRepository entryRepository;
   private final TransactionTemplate transactionTemplate;
+  private final WalletOperationMetrics operationMetrics;
 
   public DepositService(
       WalletRepository walletRepository,
       TransactionRepository transactionRepository,
       EntryRepository entryRepository,
-      TransactionTemplate transactionTemplate) {
+      TransactionTemplate transactionTemplate,
+      WalletOperationMetrics operationMetrics) {
     this.walletRepository = walletRepository;
     this.transactionRepository = transactionRepository;
     this.entryRepository = entryRepository;
     this.transactionTemplate = transactionTemplate;
+    this.operationMetrics = operationMetrics;
   }
 
-  public Either<Error, Transaction> deposit(
+  public Either<Error, TransactionResult> deposit(
       @NonNull UUID walletId, @NonNull BigDecimal amount, @NonNull String idempotencyId) {
+    return operationMetrics.record("deposit", () -> doDeposit(walletId, amount, idempotencyId));
+  }
 
+  private Either<Error, TransactionResult> doDeposit(
+      UUID walletId, BigDecimal amount, String idempotencyId) {
     if (amount.compareTo(BigDecimal.ZERO) <= 0) {
       return Either.left(
           Error.of(
@@ -49,35 +70,175 @@ public class DepositService {
               WalletErrorCode.INVALID_AMOUNT.getMessage()));
     }
 
-    var existing =
-        transactionRepository.findByWalletIdAndIdempotencyIdAndType(
-            walletId, idempotencyId, DEPOSIT);
-    if (existing.isPresent()) {
-      return Either.right(existing.get());
-    }
-
     return transactionTemplate.execute(
         status -> {
-          var walletOpt = walletRepository.loadByIdForUpdate(walletId);
-          if (walletOpt.isEmpty()) {
+          Transaction transaction = createProcessed(walletId, amount, idempotencyId);
+          if (!transactionRepository.createIfAbsent(transaction)) {
+            return replay(walletId, idempotencyId);
+          }
+
+          var balance =
+              operationMetrics.recordLockWait(
+                  () -> walletRepository.creditBalance(walletId, amount));
+          if (balance.isEmpty()) {
+            status.setRollbackOnly();
             return Either.left(
                 Error.of(
                     WalletErrorCode.WALLET_NOT_FOUND.getCode(),
                     WalletErrorCode.WALLET_NOT_FOUND.getMessage()));
           }
 
-          Wallet wallet = walletOpt.get();
-          Transaction transaction = createPending(walletId, amount, idempotencyId);
-          transactionRepository.create(transaction);
           entryRepository.create(createEntry(transaction));
-          wallet.deposit(amount);
-          walletRepository.save(wallet);
-          transaction.processed();
-          transactionRepository.update(transaction);
-          return Either.right(transaction);
+          return Either.right(new TransactionResult(transaction, balance.get()));
         });
   }
 
+  /**
+   * The insert was skipped either because the key was already claimed, possibly by a concurrent
+   * request, or because the wallet does not exist.
+   */
+  private Either<Error, TransactionResult> replay(UUID walletId, String idempotencyId) {
+    var existing =
+        transactionRepository.findByWalletIdAndIdempotencyIdAndType(
+            walletId, idempotencyId, DEPOSIT);
+    if (existing.isEmpty()) {
+      return Either.left(
+          Error.of(
+              WalletErrorCode.WALLET_NOT_FOUND.getCode(),
+              WalletErrorCode.WALLET_NOT_FOUND.getMessage()));
+    }
+    return Either.right(TransactionResult.replayed(existing.get(), retrieveBalance(walletId)));
+  }
+
+  /**
+   * Deposits a batch of items in a single database transaction. Each wallet is credited once with
+   * the sum of its items, in wallet id order so concurrent batches lock wallets in the same order,
+   * and the new transactions and entries are written as JDBC batches. Results follow the order of
+   * the items; an item that repeats the idempotency id of an earlier item for the same wallet with
+   * a different amount is rejected with {@link WalletErrorCode#IDEMPOTENCY_ID_CONFLICT}.
+   */
+  public List<Either<Error, TransactionResult>> depositAll(@NonNull List<BulkItem> items) {
+    return operationMetrics.recordBatch("deposit.bulk", () -> doDepositAll(items));
+  }
+
+  private List<Either<Error, TransactionResult>> doDepositAll(List<BulkItem> items) {
+    try {
+      return transactionTemplate.execute(status -> depositBatch(items));
+    } catch (DataIntegrityViolationException e) {
+      // A concurrent request claimed one of the keys after the lookup; the retry replays it.
+      return transactionTemplate.execute(status -> depositBatch(items));
+    }
+  }
+
+  private List<Either<Error, TransactionResult>> depositBatch(List<BulkItem> items) {
+    var existing = findExisting(items);
+    var pending = new TreeMap<UUID, Map<String, BulkItem>>();
+    var firstItems = new HashMap<Key, BulkItem>();
+    var conflicting = new HashSet<Integer>();
+    for (int i = 0; i < items.size(); i++) {
+      var item = items.get(i);
+      var first = firstItems.putIfAbsent(key(item), item);
+      if (first != null && first.amount().compareTo(item.amount()) != 0) {
+        conflicting.add(i);
+        continue;
+      }
+      if (item.amount().compareTo(BigDecimal.ZERO) > 0 && !existing.containsKey(key(item))) {
+        pending
+            .computeIfAbsent(item.walletId(), walletId -> new LinkedHashMap<>())
+            .putIfAbsent(item.idempotencyId(), item);
+      }
+    }
+
+    var outcomes = new HashMap<Key, Either<Error, TransactionResult>>();
+    var transactions = new ArrayList<Transaction>();
+    for (var wallet : pending.entrySet()) {
+      var walletItems = wallet.getValue().values();
+      var total =
+          walletItems.stream().map(BulkItem::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+      var balance =
+          operationMetrics.recordLockWait(
+              () -> walletRepository.creditBalance(wallet.getKey(), total));
+      if (balance.isEmpty()) {
+        walletItems.forEach(
+            item ->
+                outcomes.put(
+                    key(item),
+                    Either.left(
+                        Error.of(
+                            WalletErrorCode.WALLET_NOT_FOUND.getCode(),
+                            WalletErrorCode.WALLET_NOT_FOUND.getMessage()))));
+        continue;
+      }
+
+      var running = balance.get().subtract(total);
+      for (BulkItem item : walletItems) {
+        running = running.add(item.amount());
+        Transaction transaction =
+            createProcessed(item.walletId(), item.amount(), item.idempotencyId());
+        transactions.add(transaction);
+        outcomes.put(key(item), Either.right(new TransactionResult(transaction, running)));
+      }
+    }
+    transactionRepository.create(transactions);
+    entryRepository.create(transactions.stream().map(this::createEntry).toList());
+
+    var balances = new HashMap<UUID, BigDecimal>();
+    var conflict =
+        Error.of(
+            WalletErrorCode.IDEMPOTENCY_ID_CONFLICT.getCode(),
+            WalletErrorCode.IDEMPOTENCY_ID_CONFLICT.getMessage());
+    return IntStream.range(0, items.size())
+        .mapToObj(
+            i -> {
+              if (conflicting.contains(i)) {
+                return Either.<Error, TransactionResult>left(conflict);
+              }
+              var item = items.get(i);
+              if (item.amount().compareTo(BigDecimal.ZERO) <= 0) {
+                return Either.<Error, TransactionResult>left(
+                    Error.of(
+                        WalletErrorCode.INVALID_AMOUNT.getCode(),
+                        WalletErrorCode.INVALID_AMOUNT.getMessage()));
+              }
+              var transaction = existing.get(key(item));
+              if (transaction != null) {
+                return Either.<Error, TransactionResult>right(
+                    TransactionResult.replayed(
+                        transaction,
+                        balances.computeIfAbsent(item.walletId(), this::retrieveBalance)));
+              }
+              return outcomes.get(key(item));
+            })
+        .toList();
+  }
+
+  private Map<Key, Transaction> findExisting(List<BulkItem> items) {
+    if (items.isEmpty()) {
+      return Map.of();
+    }
+    var walletIds = items.stream().map(BulkItem::walletId).collect(Collectors.toSet());
+    var idempotencyIds = items.stream().map(BulkItem::idempotencyId).collect(Collectors.toSet());
+    return transactionRepository
+        .findAllByWalletIdInAndIdempotencyIdInAndType(walletIds, idempotencyIds, DEPOSIT)
+        .stream()
+        .collect(
+            Collectors.toMap(
+                transaction -> new Key(transaction.getWalletId(), transaction.getIdempotencyId()),
+                Function.identity()));
+  }
+
+  private static Key key(BulkItem item) {
+    return new Key(item.walletId(), item.idempotencyId());
+  }
+
+  private record Key(UUID walletId, String idempotencyId) {}
+
+  private BigDecimal retrieveBalance(UUID walletId) {
+    return walletRepository
+        .findAvailableBalanceById(walletId)
+        .orElseThrow(() -> new WalletNotFoundException(walletId));
+  }
+
   private @NonNull Entry createEntry(Transaction transaction) {
     return new Entry(
         generate(),
@@ -88,7 +249,7 @@ public class DepositService {
         OffsetDateTime.now());
   }
 
-  private @NonNull Transaction createPending(
+  private @NonNull Transaction createProcessed(
       UUID walletId, BigDecimal amount, String idempotencyId) {
     return new Transaction(
         generate(),
@@ -97,7 +258,7 @@ public class DepositService {
         idempotencyId,
         amount,
         DEPOSIT,
-        PENDING,
+        PROCESSED,
         OffsetDateTime.now(),
         OffsetDateTime.now());
   }
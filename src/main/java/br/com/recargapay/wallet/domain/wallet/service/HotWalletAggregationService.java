@@ -0,0 +1,65 @@
+package br.com.recargapay.wallet.domain.wallet.service;
+
+import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
+import br.com.recargapay.wallet.domain.wallet.exception.WalletNotFoundException;
+import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import java.math.BigDecimal;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@Slf4j
+public class HotWalletAggregationService {
+
+  private final EntryRepository entryRepository;
+  private final WalletRepository walletRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public HotWalletAggregationService(
+      EntryRepository entryRepository,
+      WalletRepository walletRepository,
+      TransactionTemplate transactionTemplate,
+      @Value("${wallet.hot-wallet.aggregation.batch-size}") int batchSize) {
+    this.entryRepository = entryRepository;
+    this.walletRepository = walletRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Folds the pending credits of up to {@code batchSize} hot wallets into their stored balance,
+   * taking the wallet row lock once per wallet instead of once per credit.
+   *
+   * @return the number of wallets folded
+   */
+  public int foldPendingCredits() {
+    var walletIds = entryRepository.findWalletIdsWithPendingFold(batchSize);
+    var folded = 0;
+    for (UUID walletId : walletIds) {
+      try {
+        foldPendingCredits(walletId);
+        folded++;
+      } catch (Exception e) {
+        log.error("Error folding pending credits for walletId: {}", walletId, e);
+      }
+    }
+    return folded;
+  }
+
+  public void foldPendingCredits(UUID walletId) {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          var total = entryRepository.foldPendingByWalletId(walletId);
+          if (total.compareTo(BigDecimal.ZERO) == 0) {
+            return;
+          }
+          walletRepository
+              .creditBalance(walletId, total)
+              .orElseThrow(() -> new WalletNotFoundException(walletId));
+        });
+  }
+}
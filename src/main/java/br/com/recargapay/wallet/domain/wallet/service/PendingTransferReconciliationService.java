@@ -0,0 +1,133 @@
+package br.com.recargapay.wallet.domain.wallet.service;
+
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.PendingTransferCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Completes transfers that stayed {@code PENDING} for longer than {@code stale-after}, e.g. because
+ * their credit message was lost or sent to the dead-letter queue with the origin already debited.
+ *
+ * <p>Pending transfers are scanned in {@code (updated_at, id)} order with a keyset cursor, served
+ * by the partial index on pending transfers, and credited in batches of {@code batch-size} through
+ * {@link TransferService#processDestinationCredits}, with at most {@code max-concurrency} batches
+ * in flight. A transfer that the queue consumer credits at the same time is only credited once,
+ * since both claim it by moving it out of {@code PENDING}.
+ */
+@Service
+@Slf4j
+public class PendingTransferReconciliationService {
+
+  private final TransactionRepository transactionRepository;
+  private final TransferService transferService;
+  private final Duration staleAfter;
+  private final int pageSize;
+  private final int batchSize;
+  private final int maxConcurrency;
+  private final Counter reconciled;
+  private final Counter failed;
+
+  public PendingTransferReconciliationService(
+      TransactionRepository transactionRepository,
+      TransferService transferService,
+      MeterRegistry meterRegistry,
+      @Value("${wallet.transfer.reconciliation.stale-after}") Duration staleAfter,
+      @Value("${wallet.transfer.reconciliation.page-size}") int pageSize,
+      @Value("${wallet.transfer.reconciliation.batch-size}") int batchSize,
+      @Value("${wallet.transfer.reconciliation.max-concurrency}") int maxConcurrency) {
+    this.transactionRepository = transactionRepository;
+    this.transferService = transferService;
+    this.staleAfter = staleAfter;
+    this.pageSize = pageSize;
+    this.batchSize = batchSize;
+    this.maxConcurrency = maxConcurrency;
+    this.reconciled = counter(meterRegistry, "success");
+    this.failed = counter(meterRegistry, "failure");
+  }
+
+  /**
+   * Credits every transfer that was pending before the run started.
+   *
+   * @return the number of transfers whose credit batch completed without errors
+   */
+  public int reconcile() {
+    var updatedBefore = OffsetDateTime.now().minus(staleAfter);
+    var inFlight = new Semaphore(maxConcurrency);
+    var completed = new AtomicInteger();
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var cursor = PendingTransferCursor.start();
+      List<Transaction> page;
+      do {
+        page =
+            transactionRepository.findPendingTransfersUpdatedBefore(
+                updatedBefore, cursor, pageSize);
+        if (page.isEmpty()) {
+          break;
+        }
+        cursor = PendingTransferCursor.after(page.getLast());
+
+        for (List<UUID> batch : batches(page)) {
+          acquire(inFlight);
+          executor.execute(
+              () -> {
+                try {
+                  transferService.processDestinationCredits(batch);
+                  reconciled.increment(batch.size());
+                  completed.addAndGet(batch.size());
+                } catch (RuntimeException e) {
+                  failed.increment(batch.size());
+                  log.error("Error reconciling pending transfers: {}", batch, e);
+                } finally {
+                  inFlight.release();
+                }
+              });
+        }
+      } while (page.size() == pageSize);
+    }
+    return completed.get();
+  }
+
+  /** Batches by destination wallet, so most wallets are credited once per batch. */
+  private List<List<UUID>> batches(List<Transaction> page) {
+    var ids =
+        page.stream()
+            .sorted(Comparator.comparing(Transaction::getWalletDestinationId))
+            .map(Transaction::getId)
+            .toList();
+    var batches = new ArrayList<List<UUID>>();
+    for (int i = 0; i < ids.size(); i += batchSize) {
+      batches.add(ids.subList(i, Math.min(i + batchSize, ids.size())));
+    }
+    return batches;
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("wallet.transfer.reconciliation")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private static void acquire(Semaphore inFlight) {
+    try {
+      inFlight.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reconciling pending transfers", e);
+    }
+  }
+}
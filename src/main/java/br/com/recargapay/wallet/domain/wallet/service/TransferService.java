@@ -3,26 +3,47 @@ package br.com.recargapay.wallet.domain.wallet.service;
 import static br.com.recargapay.wallet.domain.transaction.model.FinancialType.CREDIT;
 import static br.com.recargapay.wallet.domain.transaction.model.FinancialType.DEBIT;
 import static br.com.recargapay.wallet.domain.transaction.model.Status.PENDING;
+import static br.com.recargapay.wallet.domain.transaction.model.Status.PROCESSED;
 import static br.com.recargapay.wallet.domain.transaction.model.Type.TRANSFER;
 import static br.com.recargapay.wallet.infrastructure.common.UUIDGenerator.generate;
 
 import br.com.recargapay.wallet.domain.transaction.event.TransferCreditPendingEvent;
 import br.com.recargapay.wallet.domain.transaction.exception.TransactionNotFoundException;
 import br.com.recargapay.wallet.domain.transaction.model.Entry;
+import br.com.recargapay.wallet.domain.transaction.model.SettlementMode;
+import br.com.recargapay.wallet.domain.transaction.model.Status;
 import br.com.recargapay.wallet.domain.transaction.model.Transaction;
 import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
 import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionResult;
+import br.com.recargapay.wallet.domain.transaction.vo.TransferItem;
 import br.com.recargapay.wallet.domain.wallet.exception.WalletErrorCode;
+import br.com.recargapay.wallet.domain.wallet.exception.WalletNotFoundException;
 import br.com.recargapay.wallet.domain.wallet.model.Wallet;
 import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
 import br.com.recargapay.wallet.infrastructure.common.Either;
 import br.com.recargapay.wallet.infrastructure.common.Error;
+import br.com.recargapay.wallet.infrastructure.metrics.WalletOperationMetrics;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -34,25 +55,56 @@ public class TransferService {
   private final EntryRepository entryRepository;
   private final TransactionTemplate transactionTemplate;
   private final ApplicationEventPublisher applicationEventPublisher;
+  private final SettlementMode settlementMode;
+  private final WalletOperationMetrics operationMetrics;
 
   public TransferService(
       WalletRepository walletRepository,
       TransactionRepository transactionRepository,
       EntryRepository entryRepository,
       TransactionTemplate transactionTemplate,
-      ApplicationEventPublisher applicationEventPublisher) {
+      ApplicationEventPublisher applicationEventPublisher,
+      @Value("${wallet.transfer.settlement-mode}") SettlementMode settlementMode,
+      WalletOperationMetrics operationMetrics) {
     this.walletRepository = walletRepository;
     this.transactionRepository = transactionRepository;
     this.entryRepository = entryRepository;
     this.transactionTemplate = transactionTemplate;
     this.applicationEventPublisher = applicationEventPublisher;
+    this.settlementMode = settlementMode;
+    this.operationMetrics = operationMetrics;
   }
 
-  public Either<Error, Transaction> transfer(
+  public Either<Error, TransactionResult> transfer(
       @NonNull UUID originWalletId,
       @NonNull UUID destinationWalletId,
       @NonNull BigDecimal amount,
       @NonNull String idempotencyId) {
+    return transfer(originWalletId, destinationWalletId, amount, idempotencyId, settlementMode);
+  }
+
+  /**
+   * Transfers between two wallets. With {@link SettlementMode#SYNC} the destination is credited in
+   * the same database transaction, and both balance updates run in wallet id order so opposite
+   * transfers between the same wallets lock them in the same order and cannot deadlock.
+   */
+  public Either<Error, TransactionResult> transfer(
+      @NonNull UUID originWalletId,
+      @NonNull UUID destinationWalletId,
+      @NonNull BigDecimal amount,
+      @NonNull String idempotencyId,
+      @NonNull SettlementMode mode) {
+    return operationMetrics.record(
+        "transfer",
+        () -> doTransfer(originWalletId, destinationWalletId, amount, idempotencyId, mode));
+  }
+
+  private Either<Error, TransactionResult> doTransfer(
+      UUID originWalletId,
+      UUID destinationWalletId,
+      BigDecimal amount,
+      String idempotencyId,
+      SettlementMode mode) {
     if (amount.compareTo(BigDecimal.ZERO) <= 0) {
       return Either.left(
           Error.of(
@@ -67,23 +119,16 @@ public class TransferService {
               WalletErrorCode.SAME_WALLET_TRANSFER.getMessage()));
     }
 
-    var existing =
-        transactionRepository.findByWalletIdAndIdempotencyIdAndType(
-            originWalletId, idempotencyId, TRANSFER);
-    if (existing.isPresent()) {
-      return Either.right(existing.get());
-    }
-
     return transactionTemplate.execute(
         status -> {
-          var originWalletOpt = walletRepository.loadByIdForUpdate(originWalletId);
+          var originWalletOpt = walletRepository.findById(originWalletId);
           if (originWalletOpt.isEmpty()) {
             return Either.left(
                 Error.of(WalletErrorCode.WALLET_NOT_FOUND.getCode(), "Origin wallet not found"));
           }
           Wallet originWallet = originWalletOpt.get();
 
-          var destinationWalletOpt = walletRepository.loadByIdForUpdate(destinationWalletId);
+          var destinationWalletOpt = walletRepository.findById(destinationWalletId);
           if (destinationWalletOpt.isEmpty()) {
             return Either.left(
                 Error.of(
@@ -98,28 +143,258 @@ public class TransferService {
                     WalletErrorCode.CURRENCY_MISMATCH.getMessage()));
           }
 
-          if (originWallet.getBalance().compareTo(amount) < 0) {
+          boolean sync = resolve(mode, destinationWallet) == SettlementMode.SYNC;
+          Transaction transaction =
+              createTransfer(
+                  originWalletId,
+                  destinationWalletId,
+                  amount,
+                  idempotencyId,
+                  sync ? PROCESSED : PENDING);
+          if (!transactionRepository.createIfAbsent(transaction)) {
+            return replay(originWalletId, idempotencyId);
+          }
+
+          if (sync && destinationWalletId.compareTo(originWalletId) < 0) {
+            creditSynchronously(destinationWallet, transaction);
+          }
+          var balance =
+              operationMetrics.recordLockWait(
+                  () -> walletRepository.debitBalance(originWalletId, amount));
+          if (balance.isEmpty()) {
+            status.setRollbackOnly();
             return Either.left(
                 Error.of(
                     WalletErrorCode.INSUFFICIENT_BALANCE.getCode(),
                     WalletErrorCode.INSUFFICIENT_BALANCE.getMessage()));
           }
+          if (sync && destinationWalletId.compareTo(originWalletId) > 0) {
+            creditSynchronously(destinationWallet, transaction);
+          }
+
+          entryRepository.create(createDebitEntry(transaction));
+
+          if (!sync) {
+            applicationEventPublisher.publishEvent(
+                new TransferCreditPendingEvent(transaction.getId()));
+          }
+
+          return Either.right(new TransactionResult(transaction, balance.get()));
+        });
+  }
+
+  private SettlementMode resolve(SettlementMode mode, Wallet destination) {
+    if (mode != SettlementMode.AUTO) {
+      return mode;
+    }
+    return destination.isHot() || destination.isSharded()
+        ? SettlementMode.ASYNC
+        : SettlementMode.SYNC;
+  }
+
+  private void creditSynchronously(Wallet destination, Transaction transaction) {
+    if (!destination.isHot()) {
+      operationMetrics
+          .recordLockWait(
+              () -> walletRepository.creditBalance(destination.getId(), transaction.getAmount()))
+          .orElseThrow(() -> new WalletNotFoundException(destination.getId()));
+    }
+    entryRepository.create(createCreditEntry(transaction, destination.isHot()));
+  }
+
+  /**
+   * The insert was skipped because the key was already claimed, possibly by a concurrent request.
+   */
+  private Either<Error, TransactionResult> replay(UUID walletId, String idempotencyId) {
+    var existing =
+        transactionRepository.findByWalletIdAndIdempotencyIdAndType(
+            walletId, idempotencyId, TRANSFER);
+    if (existing.isEmpty()) {
+      return Either.left(
+          Error.of(WalletErrorCode.WALLET_NOT_FOUND.getCode(), "Origin wallet not found"));
+    }
+    return Either.right(TransactionResult.replayed(existing.get(), retrieveBalance(walletId)));
+  }
+
+  /**
+   * Transfers from one origin wallet to many destinations in a single database transaction. The
+   * origin is debited once with the total of the accepted items, so its row is locked and its
+   * balance checked a single time; when it cannot cover the total, every new item is rejected.
+   * Transactions, debit entries and outbox messages are written as JDBC batches and the outbox
+   * relay sends the destination credits to SQS in batches. Results follow the order of the items;
+   * an item repeating an earlier item's idempotency ID with another destination or amount is
+   * rejected with {@link WalletErrorCode#IDEMPOTENCY_ID_CONFLICT}.
+   */
+  public List<Either<Error, TransactionResult>> transferAll(
+      @NonNull UUID originWalletId, @NonNull List<TransferItem> items) {
+    return operationMetrics.recordBatch(
+        "transfer.batch", () -> doTransferAll(originWalletId, items));
+  }
+
+  private List<Either<Error, TransactionResult>> doTransferAll(
+      UUID originWalletId, List<TransferItem> items) {
+    try {
+      return transactionTemplate.execute(status -> transferBatch(originWalletId, items));
+    } catch (DataIntegrityViolationException e) {
+      // A concurrent request claimed one of the keys after the lookup; the retry replays it.
+      return transactionTemplate.execute(status -> transferBatch(originWalletId, items));
+    }
+  }
+
+  private List<Either<Error, TransactionResult>> transferBatch(
+      UUID originWalletId, List<TransferItem> items) {
+    var originWallet = walletRepository.findById(originWalletId);
+    if (originWallet.isEmpty()) {
+      var error = Error.of(WalletErrorCode.WALLET_NOT_FOUND.getCode(), "Origin wallet not found");
+      return items.stream().map(item -> Either.<Error, TransactionResult>left(error)).toList();
+    }
+
+    var existing = findExisting(originWalletId, items);
+    var destinations =
+        walletRepository
+            .findAllById(
+                items.stream().map(TransferItem::destinationWalletId).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Wallet::getId, Function.identity()));
+
+    var outcomes = new HashMap<String, Either<Error, TransactionResult>>();
+    var accepted = new LinkedHashMap<String, TransferItem>();
+    var firstItems = new HashMap<String, TransferItem>();
+    var conflicting = new HashSet<Integer>();
+    for (int i = 0; i < items.size(); i++) {
+      var item = items.get(i);
+      var idempotencyId = item.idempotencyId();
+      var first = firstItems.putIfAbsent(idempotencyId, item);
+      if (first != null && !sameOperation(first, item)) {
+        conflicting.add(i);
+        continue;
+      }
+      if (existing.containsKey(idempotencyId)
+          || outcomes.containsKey(idempotencyId)
+          || accepted.containsKey(idempotencyId)) {
+        continue;
+      }
+      validate(
+              originWalletId,
+              originWallet.get(),
+              destinations.get(item.destinationWalletId()),
+              item)
+          .ifPresentOrElse(
+              error -> outcomes.put(idempotencyId, Either.left(error)),
+              () -> accepted.put(idempotencyId, item));
+    }
 
+    if (!accepted.isEmpty()) {
+      var total =
+          accepted.values().stream()
+              .map(TransferItem::amount)
+              .reduce(BigDecimal.ZERO, BigDecimal::add);
+      var balance =
+          operationMetrics.recordLockWait(
+              () -> walletRepository.debitBalance(originWalletId, total));
+      if (balance.isEmpty()) {
+        var error =
+            Error.of(
+                WalletErrorCode.INSUFFICIENT_BALANCE.getCode(),
+                WalletErrorCode.INSUFFICIENT_BALANCE.getMessage());
+        accepted.keySet().forEach(idempotencyId -> outcomes.put(idempotencyId, Either.left(error)));
+      } else {
+        var running = balance.get().add(total);
+        var transactions = new ArrayList<Transaction>();
+        for (TransferItem item : accepted.values()) {
+          running = running.subtract(item.amount());
           Transaction transaction =
-              createPending(originWalletId, destinationWalletId, amount, idempotencyId);
+              createTransfer(
+                  originWalletId,
+                  item.destinationWalletId(),
+                  item.amount(),
+                  item.idempotencyId(),
+                  PENDING);
+          transactions.add(transaction);
+          outcomes.put(
+              item.idempotencyId(), Either.right(new TransactionResult(transaction, running)));
+        }
+        transactionRepository.create(transactions);
+        entryRepository.create(transactions.stream().map(this::createDebitEntry).toList());
+        transactions.forEach(
+            transaction ->
+                applicationEventPublisher.publishEvent(
+                    new TransferCreditPendingEvent(transaction.getId())));
+      }
+    }
 
-          transactionRepository.create(transaction);
+    var replayBalance = existing.isEmpty() ? null : retrieveBalance(originWalletId);
+    var conflict =
+        Error.of(
+            WalletErrorCode.IDEMPOTENCY_ID_CONFLICT.getCode(),
+            WalletErrorCode.IDEMPOTENCY_ID_CONFLICT.getMessage());
+    return IntStream.range(0, items.size())
+        .mapToObj(
+            i -> {
+              if (conflicting.contains(i)) {
+                return Either.<Error, TransactionResult>left(conflict);
+              }
+              var item = items.get(i);
+              var transaction = existing.get(item.idempotencyId());
+              if (transaction != null) {
+                return Either.<Error, TransactionResult>right(
+                    TransactionResult.replayed(transaction, replayBalance));
+              }
+              return outcomes.get(item.idempotencyId());
+            })
+        .toList();
+  }
 
-          entryRepository.create(createDebitEntry(transaction));
+  // Repeating an idempotency ID is a retry only when it describes the same transfer.
+  private static boolean sameOperation(TransferItem first, TransferItem item) {
+    return first.destinationWalletId().equals(item.destinationWalletId())
+        && first.amount().compareTo(item.amount()) == 0;
+  }
 
-          originWallet.withdraw(amount);
-          walletRepository.save(originWallet);
+  private Optional<Error> validate(
+      UUID originWalletId, Wallet origin, Wallet destination, TransferItem item) {
+    if (item.amount().compareTo(BigDecimal.ZERO) <= 0) {
+      return Optional.of(
+          Error.of(
+              WalletErrorCode.INVALID_AMOUNT.getCode(),
+              WalletErrorCode.INVALID_AMOUNT.getMessage()));
+    }
+    if (originWalletId.equals(item.destinationWalletId())) {
+      return Optional.of(
+          Error.of(
+              WalletErrorCode.SAME_WALLET_TRANSFER.getCode(),
+              WalletErrorCode.SAME_WALLET_TRANSFER.getMessage()));
+    }
+    if (destination == null) {
+      return Optional.of(
+          Error.of(WalletErrorCode.WALLET_NOT_FOUND.getCode(), "Destination wallet not found"));
+    }
+    if (!origin.getCurrency().equals(destination.getCurrency())) {
+      return Optional.of(
+          Error.of(
+              WalletErrorCode.CURRENCY_MISMATCH.getCode(),
+              WalletErrorCode.CURRENCY_MISMATCH.getMessage()));
+    }
+    return Optional.empty();
+  }
 
-          applicationEventPublisher.publishEvent(
-              new TransferCreditPendingEvent(transaction.getId()));
+  private Map<String, Transaction> findExisting(UUID originWalletId, List<TransferItem> items) {
+    if (items.isEmpty()) {
+      return Map.of();
+    }
+    return transactionRepository
+        .findAllByWalletIdInAndIdempotencyIdInAndType(
+            Set.of(originWalletId),
+            items.stream().map(TransferItem::idempotencyId).collect(Collectors.toSet()),
+            TRANSFER)
+        .stream()
+        .collect(Collectors.toMap(Transaction::getIdempotencyId, Function.identity()));
+  }
 
-          return Either.right(transaction);
-        });
+  private BigDecimal retrieveBalance(UUID walletId) {
+    return walletRepository
+        .findAvailableBalanceById(walletId)
+        .orElseThrow(() -> new WalletNotFoundException(walletId));
   }
 
   private @NonNull Entry createDebitEntry(Transaction transaction) {
@@ -132,18 +407,23 @@ public class TransferService {
         OffsetDateTime.now());
   }
 
-  private @NonNull Entry createCreditEntry(Transaction transaction) {
+  private @NonNull Entry createCreditEntry(Transaction transaction, boolean pendingFold) {
     return new Entry(
         generate(),
         transaction.getWalletDestinationId(),
         transaction.getId(),
         transaction.getAmount(),
         CREDIT,
-        OffsetDateTime.now());
+        OffsetDateTime.now(),
+        pendingFold);
   }
 
-  private @NonNull Transaction createPending(
-      UUID originWalletId, UUID destinationWalletId, BigDecimal amount, String idempotencyId) {
+  private @NonNull Transaction createTransfer(
+      UUID originWalletId,
+      UUID destinationWalletId,
+      BigDecimal amount,
+      String idempotencyId,
+      Status status) {
     return new Transaction(
         generate(),
         originWalletId,
@@ -151,43 +431,98 @@ public class TransferService {
         idempotencyId,
         amount,
         TRANSFER,
-        PENDING,
+        status,
         OffsetDateTime.now(),
         OffsetDateTime.now());
   }
 
   public void processDestinationCredit(UUID transactionId) {
+    processDestinationCredits(List.of(transactionId));
+  }
 
-    Transaction transaction =
-        transactionRepository
-            .loadById(transactionId)
-            .orElseThrow(
-                () -> {
-                  log.error("Transaction {} not found for processing credit", transactionId);
-                  return new TransactionNotFoundException(transactionId);
-                });
+  /**
+   * Credits a batch of pending transfers. Transfers are grouped by destination wallet so each
+   * wallet gets a single balance update, and wallets are credited in id order so concurrent
+   * consumers lock them in the same order.
+   */
+  public void processDestinationCredits(List<UUID> transactionIds) {
+    operationMetrics.record("transfer.credit", () -> doProcessDestinationCredits(transactionIds));
+  }
 
-    if (transaction.isCompleted()) {
-      log.warn("Transaction {} already completed.", transactionId);
-      return;
+  private void doProcessDestinationCredits(List<UUID> transactionIds) {
+    var transactions = transactionRepository.loadAllById(transactionIds);
+
+    var found = transactions.stream().map(Transaction::getId).collect(Collectors.toSet());
+    var missing = transactionIds.stream().filter(id -> !found.contains(id)).toList();
+    missing.forEach(id -> log.error("Transaction {} not found for processing credit", id));
+
+    var byDestination =
+        transactions.stream()
+            .filter(this::isPendingTransfer)
+            .collect(
+                Collectors.groupingBy(
+                    Transaction::getWalletDestinationId, TreeMap::new, Collectors.toList()));
+
+    RuntimeException failure = null;
+    for (var destination : byDestination.entrySet()) {
+      try {
+        creditDestination(destination.getKey(), destination.getValue());
+      } catch (RuntimeException e) {
+        log.error("Error crediting destination walletId: {}", destination.getKey(), e);
+        if (failure == null) {
+          failure = e;
+        }
+      }
     }
 
+    if (failure != null) {
+      throw failure;
+    }
+    if (!missing.isEmpty()) {
+      throw new TransactionNotFoundException(missing.getFirst());
+    }
+  }
+
+  private boolean isPendingTransfer(Transaction transaction) {
+    if (transaction.isCompleted()) {
+      log.warn("Transaction {} already completed.", transaction.getId());
+      return false;
+    }
     if (!transaction.isTransfer()) {
-      log.warn("Transaction {} is not a transfer.", transactionId);
-      return;
+      log.warn("Transaction {} is not a transfer.", transaction.getId());
+      return false;
     }
+    return true;
+  }
 
+  private void creditDestination(UUID walletId, List<Transaction> transactions) {
     transactionTemplate.executeWithoutResult(
         status -> {
-          Wallet wallet =
+          var claimed =
+              Set.copyOf(
+                  transactionRepository.markTransfersProcessed(
+                      transactions.stream().map(Transaction::getId).toList()));
+          var credits = transactions.stream().filter(t -> claimed.contains(t.getId())).toList();
+          if (credits.isEmpty()) {
+            return;
+          }
+
+          var hot =
               walletRepository
-                  .loadByIdForUpdate(transaction.getWalletDestinationId())
-                  .orElseThrow();
-          entryRepository.create(createCreditEntry(transaction));
-          wallet.deposit(transaction.getAmount());
-          walletRepository.save(wallet);
-          transaction.processed();
-          transactionRepository.update(transaction);
+                  .findById(walletId)
+                  .map(Wallet::isHot)
+                  .orElseThrow(() -> new WalletNotFoundException(walletId));
+          if (!hot) {
+            var total =
+                credits.stream()
+                    .map(Transaction::getAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            operationMetrics
+                .recordLockWait(() -> walletRepository.creditBalance(walletId, total))
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+          }
+          entryRepository.create(credits.stream().map(t -> createCreditEntry(t, hot)).toList());
+          credits.forEach(Transaction::processed);
         });
   }
 }
@@ -1,51 +1,79 @@
 package br.com.recargapay.wallet.domain.wallet.service;
 
-import br.com.recargapay.wallet.domain.transaction.model.FinancialType;
 import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryCursor;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryPage;
 import br.com.recargapay.wallet.domain.wallet.exception.WalletNotFoundException;
 import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.repository.BalanceCheckpointRepository;
 import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import br.com.recargapay.wallet.infrastructure.cache.DefaultWalletCache;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class WalletService {
   private final WalletRepository walletRepository;
   private final EntryRepository entryRepository;
-  private final TransactionTemplate transactionTemplate;
+  private final TransactionRepository transactionRepository;
+  private final BalanceCheckpointRepository balanceCheckpointRepository;
+  private final DefaultWalletCache defaultWalletCache;
 
   public WalletService(
       WalletRepository walletRepository,
       EntryRepository entryRepository,
-      TransactionTemplate transactionTemplate) {
+      TransactionRepository transactionRepository,
+      BalanceCheckpointRepository balanceCheckpointRepository,
+      DefaultWalletCache defaultWalletCache) {
     this.walletRepository = walletRepository;
     this.entryRepository = entryRepository;
-    this.transactionTemplate = transactionTemplate;
+    this.transactionRepository = transactionRepository;
+    this.balanceCheckpointRepository = balanceCheckpointRepository;
+    this.defaultWalletCache = defaultWalletCache;
   }
 
+  /**
+   * Creates the customer's wallet for {@code currency} or returns the existing one. Concurrent
+   * calls for the same customer and currency resolve to the same wallet without a constraint
+   * violation.
+   */
   public Wallet createWallet(UUID customerId, String currency) {
-    var wallets = walletRepository.listByCustomerIdAndCurrency(customerId, currency);
-    if (!wallets.isEmpty()) {
-      return wallets.getFirst();
+    var created = walletRepository.createIfAbsent(new Wallet(customerId, currency));
+    if (created.isPresent()) {
+      defaultWalletCache.invalidate(customerId);
+      return created.get();
     }
+    return walletRepository.listByCustomerIdAndCurrency(customerId, currency).getFirst();
+  }
 
-    var wallet = new Wallet(customerId, currency);
+  // Runs inside the default wallet cache loader, which must not touch its own key: the entry being
+  // loaded is the one that would be invalidated.
+  private Wallet createDefaultWallet(UUID customerId) {
+    return walletRepository
+        .createIfAbsent(new Wallet(customerId, "BRL"))
+        .orElseGet(
+            () -> walletRepository.listByCustomerIdAndCurrency(customerId, "BRL").getFirst());
+  }
 
-    transactionTemplate.executeWithoutResult(
-        status -> {
-          walletRepository.save(wallet);
-        });
+  public BigDecimal retrieveBalance(UUID walletId) {
+    return walletRepository
+        .findAvailableBalanceById(walletId)
+        .orElseThrow(() -> new WalletNotFoundException(walletId));
+  }
 
-    return wallet;
+  public void setHotWallet(UUID walletId, boolean hot) {
+    if (walletRepository.findById(walletId).isEmpty()) {
+      throw new WalletNotFoundException(walletId);
+    }
+    walletRepository.updateHot(walletId, hot);
   }
 
-  public BigDecimal retrieveBalance(UUID walletId) {
+  public Wallet enableBalanceSharding(UUID walletId, int shards) {
     return walletRepository
-        .loadByIdForUpdate(walletId)
-        .map(Wallet::getBalance)
+        .enableBalanceSharding(walletId, shards)
         .orElseThrow(() -> new WalletNotFoundException(walletId));
   }
 
@@ -53,20 +81,39 @@ public class WalletService {
     if (!walletRepository.findById(walletId).isPresent()) {
       throw new WalletNotFoundException(walletId);
     }
-    var entries = entryRepository.findByWalletIdAndCreatedAtBeforeOrderByCreatedAtAsc(walletId, at);
-    return entries.stream()
+    return balanceCheckpointRepository
+        .findLatestByWalletIdAtOrBefore(walletId, at)
         .map(
-            e ->
-                e.getFinancialType() == FinancialType.CREDIT
-                    ? e.getAmount()
-                    : e.getAmount().negate())
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+            c ->
+                c.getBalance()
+                    .add(
+                        entryRepository.sumSignedAmountByWalletIdAndCreatedAtBetween(
+                            walletId, c.getCheckpointAt(), at)))
+        .orElseGet(() -> entryRepository.sumSignedAmountByWalletIdAndCreatedAtBefore(walletId, at));
+  }
+
+  /**
+   * Lists one page of the wallet's transactions, newest first, starting right before {@code
+   * cursor}. One extra row is read to tell whether a next page exists.
+   */
+  public TransactionHistoryPage listTransactions(
+      UUID walletId, TransactionHistoryCursor cursor, int limit) {
+    var transactions = transactionRepository.findByWalletIdBefore(walletId, cursor, limit + 1);
+    if (transactions.size() <= limit) {
+      return new TransactionHistoryPage(transactions, null);
+    }
+    var page = transactions.subList(0, limit);
+    return new TransactionHistoryPage(page, TransactionHistoryCursor.after(page.getLast()));
+  }
+
+  public UUID retrieveDefaultWalletId(UUID customerId) {
+    return defaultWalletCache.get(customerId, id -> retrieveDefaultWallet(id).getId());
   }
 
   public Wallet retrieveDefaultWallet(UUID customerId) {
     var wallets = walletRepository.findByCustomerId(customerId);
     if (wallets.isEmpty()) {
-      return createWallet(customerId, "BRL");
+      return createDefaultWallet(customerId);
     }
     return wallets.getFirst();
   }
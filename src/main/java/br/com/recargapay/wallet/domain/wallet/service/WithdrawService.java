@@ -1,7 +1,7 @@
 package br.com.recargapay.wallet.domain.wallet.service;
 
 import static br.com.recargapay.wallet.domain.transaction.model.FinancialType.DEBIT;
-import static br.com.recargapay.wallet.domain.transaction.model.Status.PENDING;
+import static br.com.recargapay.wallet.domain.transaction.model.Status.PROCESSED;
 import static br.com.recargapay.wallet.domain.transaction.model.Type.WITHDRAWAL;
 import static br.com.recargapay.wallet.infrastructure.common.UUIDGenerator.generate;
 
@@ -9,15 +9,29 @@ import br.com.recargapay.wallet.domain.transaction.model.Entry;
 import br.com.recargapay.wallet.domain.transaction.model.Transaction;
 import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
 import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.BulkItem;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionResult;
 import br.com.recargapay.wallet.domain.wallet.exception.WalletErrorCode;
-import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.exception.WalletNotFoundException;
 import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
 import br.com.recargapay.wallet.infrastructure.common.Either;
 import br.com.recargapay.wallet.infrastructure.common.Error;
+import br.com.recargapay.wallet.infrastructure.metrics.WalletOperationMetrics;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.jspecify.annotations.NonNull;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -27,20 +41,28 @@ public class WithdrawService {
   private final TransactionRepository transactionRepository;
   private final EntryRepository entryRepository;
   private final TransactionTemplate transactionTemplate;
+  private final WalletOperationMetrics operationMetrics;
 
   public WithdrawService(
       WalletRepository walletRepository,
       TransactionRepository transactionRepository,
       EntryRepository entryRepository,
-      TransactionTemplate transactionTemplate) {
+      TransactionTemplate transactionTemplate,
+      WalletOperationMetrics operationMetrics) {
     this.walletRepository = walletRepository;
     this.transactionRepository = transactionRepository;
     this.entryRepository = entryRepository;
     this.transactionTemplate = transactionTemplate;
+    this.operationMetrics = operationMetrics;
   }
 
-  public Either<Error, Transaction> withdraw(
+  public Either<Error, TransactionResult> withdraw(
       @NonNull UUID walletId, @NonNull BigDecimal amount, @NonNull String idempotencyId) {
+    return operationMetrics.record("withdraw", () -> doWithdraw(walletId, amount, idempotencyId));
+  }
+
+  private Either<Error, TransactionResult> doWithdraw(
+      UUID walletId, BigDecimal amount, String idempotencyId) {
     if (amount.compareTo(BigDecimal.ZERO) <= 0) {
       return Either.left(
           Error.of(
@@ -48,45 +70,194 @@ public class WithdrawService {
               WalletErrorCode.INVALID_AMOUNT.getMessage()));
     }
 
-    var existing =
-        transactionRepository.findByWalletIdAndIdempotencyIdAndType(
-            walletId, idempotencyId, WITHDRAWAL);
-    if (existing.isPresent()) {
-      return Either.right(existing.get());
-    }
-
     return transactionTemplate.execute(
         status -> {
-          var walletOpt = walletRepository.loadByIdForUpdate(walletId);
-          if (walletOpt.isEmpty()) {
-            return Either.left(
-                Error.of(
-                    WalletErrorCode.WALLET_NOT_FOUND.getCode(),
-                    WalletErrorCode.WALLET_NOT_FOUND.getMessage()));
+          Transaction transaction = createProcessed(walletId, amount, idempotencyId);
+          if (!transactionRepository.createIfAbsent(transaction)) {
+            return replay(walletId, idempotencyId);
           }
 
-          Wallet wallet = walletOpt.get();
-
-          if (wallet.getBalance().compareTo(amount) < 0) {
+          var balance =
+              operationMetrics.recordLockWait(
+                  () -> walletRepository.debitBalance(walletId, amount));
+          if (balance.isEmpty()) {
+            status.setRollbackOnly();
             return Either.left(
                 Error.of(
                     WalletErrorCode.INSUFFICIENT_BALANCE.getCode(),
                     WalletErrorCode.INSUFFICIENT_BALANCE.getMessage()));
           }
 
-          wallet.withdraw(amount);
-
-          Transaction transaction = createPending(walletId, amount, idempotencyId);
-          transactionRepository.create(transaction);
           entryRepository.create(createEntry(transaction));
+          return Either.right(new TransactionResult(transaction, balance.get()));
+        });
+  }
 
-          walletRepository.save(wallet);
+  /**
+   * The insert was skipped either because the key was already claimed, possibly by a concurrent
+   * request, or because the wallet does not exist.
+   */
+  private Either<Error, TransactionResult> replay(UUID walletId, String idempotencyId) {
+    var existing =
+        transactionRepository.findByWalletIdAndIdempotencyIdAndType(
+            walletId, idempotencyId, WITHDRAWAL);
+    if (existing.isEmpty()) {
+      return Either.left(
+          Error.of(
+              WalletErrorCode.WALLET_NOT_FOUND.getCode(),
+              WalletErrorCode.WALLET_NOT_FOUND.getMessage()));
+    }
+    return Either.right(TransactionResult.replayed(existing.get(), retrieveBalance(walletId)));
+  }
 
-          transaction.processed();
-          transactionRepository.update(transaction);
+  /**
+   * Withdraws a batch of items in a single database transaction. Each wallet is debited once with
+   * the sum of its items, in wallet id order so concurrent batches lock wallets in the same order;
+   * when the wallet cannot cover the sum, its items are debited one by one so the ones that fit
+   * still go through. New transactions and entries are written as JDBC batches. Results follow the
+   * order of the items; an item that repeats the idempotency id of an earlier item for the same
+   * wallet with a different amount is rejected with {@link
+   * WalletErrorCode#IDEMPOTENCY_ID_CONFLICT}.
+   */
+  public List<Either<Error, TransactionResult>> withdrawAll(@NonNull List<BulkItem> items) {
+    return operationMetrics.recordBatch("withdraw.bulk", () -> doWithdrawAll(items));
+  }
 
-          return Either.right(transaction);
-        });
+  private List<Either<Error, TransactionResult>> doWithdrawAll(List<BulkItem> items) {
+    try {
+      return transactionTemplate.execute(status -> withdrawBatch(items));
+    } catch (DataIntegrityViolationException e) {
+      // A concurrent request claimed one of the keys after the lookup; the retry replays it.
+      return transactionTemplate.execute(status -> withdrawBatch(items));
+    }
+  }
+
+  private List<Either<Error, TransactionResult>> withdrawBatch(List<BulkItem> items) {
+    var existing = findExisting(items);
+    var pending = new TreeMap<UUID, Map<String, BulkItem>>();
+    var firstItems = new HashMap<Key, BulkItem>();
+    var conflicting = new HashSet<Integer>();
+    for (int i = 0; i < items.size(); i++) {
+      var item = items.get(i);
+      var first = firstItems.putIfAbsent(key(item), item);
+      if (first != null && first.amount().compareTo(item.amount()) != 0) {
+        conflicting.add(i);
+        continue;
+      }
+      if (item.amount().compareTo(BigDecimal.ZERO) > 0 && !existing.containsKey(key(item))) {
+        pending
+            .computeIfAbsent(item.walletId(), walletId -> new LinkedHashMap<>())
+            .putIfAbsent(item.idempotencyId(), item);
+      }
+    }
+
+    var outcomes = new HashMap<Key, Either<Error, TransactionResult>>();
+    var transactions = new ArrayList<Transaction>();
+    for (var wallet : pending.entrySet()) {
+      var walletItems = wallet.getValue().values();
+      var total =
+          walletItems.stream().map(BulkItem::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+      var balance =
+          operationMetrics.recordLockWait(
+              () -> walletRepository.debitBalance(wallet.getKey(), total));
+      if (balance.isPresent()) {
+        var running = balance.get().add(total);
+        for (BulkItem item : walletItems) {
+          running = running.subtract(item.amount());
+          Transaction transaction =
+              createProcessed(item.walletId(), item.amount(), item.idempotencyId());
+          transactions.add(transaction);
+          outcomes.put(key(item), Either.right(new TransactionResult(transaction, running)));
+        }
+        continue;
+      }
+
+      Error failure = null;
+      for (BulkItem item : walletItems) {
+        var itemBalance =
+            walletItems.size() > 1
+                ? operationMetrics.recordLockWait(
+                    () -> walletRepository.debitBalance(item.walletId(), item.amount()))
+                : balance;
+        if (itemBalance.isPresent()) {
+          Transaction transaction =
+              createProcessed(item.walletId(), item.amount(), item.idempotencyId());
+          transactions.add(transaction);
+          outcomes.put(
+              key(item), Either.right(new TransactionResult(transaction, itemBalance.get())));
+          continue;
+        }
+        if (failure == null) {
+          failure =
+              walletRepository.findById(item.walletId()).isEmpty()
+                  ? Error.of(
+                      WalletErrorCode.WALLET_NOT_FOUND.getCode(),
+                      WalletErrorCode.WALLET_NOT_FOUND.getMessage())
+                  : Error.of(
+                      WalletErrorCode.INSUFFICIENT_BALANCE.getCode(),
+                      WalletErrorCode.INSUFFICIENT_BALANCE.getMessage());
+        }
+        outcomes.put(key(item), Either.left(failure));
+      }
+    }
+    transactionRepository.create(transactions);
+    entryRepository.create(transactions.stream().map(this::createEntry).toList());
+
+    var balances = new HashMap<UUID, BigDecimal>();
+    var conflict =
+        Error.of(
+            WalletErrorCode.IDEMPOTENCY_ID_CONFLICT.getCode(),
+            WalletErrorCode.IDEMPOTENCY_ID_CONFLICT.getMessage());
+    return IntStream.range(0, items.size())
+        .mapToObj(
+            i -> {
+              if (conflicting.contains(i)) {
+                return Either.<Error, TransactionResult>left(conflict);
+              }
+              var item = items.get(i);
+              if (item.amount().compareTo(BigDecimal.ZERO) <= 0) {
+                return Either.<Error, TransactionResult>left(
+                    Error.of(
+                        WalletErrorCode.INVALID_AMOUNT.getCode(),
+                        WalletErrorCode.INVALID_AMOUNT.getMessage()));
+              }
+              var transaction = existing.get(key(item));
+              if (transaction != null) {
+                return Either.<Error, TransactionResult>right(
+                    TransactionResult.replayed(
+                        transaction,
+                        balances.computeIfAbsent(item.walletId(), this::retrieveBalance)));
+              }
+              return outcomes.get(key(item));
+            })
+        .toList();
+  }
+
+  private Map<Key, Transaction> findExisting(List<BulkItem> items) {
+    if (items.isEmpty()) {
+      return Map.of();
+    }
+    var walletIds = items.stream().map(BulkItem::walletId).collect(Collectors.toSet());
+    var idempotencyIds = items.stream().map(BulkItem::idempotencyId).collect(Collectors.toSet());
+    return transactionRepository
+        .findAllByWalletIdInAndIdempotencyIdInAndType(walletIds, idempotencyIds, WITHDRAWAL)
+        .stream()
+        .collect(
+            Collectors.toMap(
+                transaction -> new Key(transaction.getWalletId(), transaction.getIdempotencyId()),
+                Function.identity()));
+  }
+
+  private static Key key(BulkItem item) {
+    return new Key(item.walletId(), item.idempotencyId());
+  }
+
+  private record Key(UUID walletId, String idempotencyId) {}
+
+  private BigDecimal retrieveBalance(UUID walletId) {
+    return walletRepository
+        .findAvailableBalanceById(walletId)
+        .orElseThrow(() -> new WalletNotFoundException(walletId));
   }
 
   private @NonNull Entry createEntry(Transaction transaction) {
@@ -99,7 +270,7 @@ public class WithdrawService {
         OffsetDateTime.now());
   }
 
-  private @NonNull Transaction createPending(
+  private @NonNull Transaction createProcessed(
       UUID walletId, BigDecimal amount, String idempotencyId) {
     return new Transaction(
         generate(),
@@ -108,7 +279,7 @@ public class WithdrawService {
         idempotencyId,
         amount,
         WITHDRAWAL,
-        PENDING,
+        PROCESSED,
         OffsetDateTime.now(),
         OffsetDateTime.now());
   }
@@ -0,0 +1,42 @@
+package br.com.recargapay.wallet.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process cache from customer id to the id of their default wallet. Entries expire after
+ * a fixed time so a wallet change made by another instance is eventually picked up.
+ */
+@Component
+public class DefaultWalletCache {
+
+  private final Cache<UUID, UUID> walletIds;
+
+  public DefaultWalletCache(
+      MeterRegistry meterRegistry,
+      @Value("${wallet.cache.default-wallet.maximum-size}") long maximumSize,
+      @Value("${wallet.cache.default-wallet.expire-after-write}") Duration expireAfterWrite) {
+    this.walletIds =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, walletIds, "wallet.default-wallet");
+  }
+
+  public UUID get(UUID customerId, Function<UUID, UUID> loader) {
+    return walletIds.get(customerId, loader);
+  }
+
+  public void invalidate(UUID customerId) {
+    walletIds.invalidate(customerId);
+  }
+}
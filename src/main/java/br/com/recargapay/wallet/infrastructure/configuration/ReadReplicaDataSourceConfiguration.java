@@ -0,0 +1,56 @@
+package br.com.recargapay.wallet.infrastructure.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Routes read-only transactions to a replica when {@code wallet.datasource.replica.url} is set.
+ * Read-write transactions keep using the primary configured under {@code spring.datasource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wallet.datasource.replica.url")
+public class ReadReplicaDataSourceConfiguration {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource replicaDataSource(
+      DataSourceProperties properties,
+      @Value("${wallet.datasource.replica.url}") String url,
+      @Value("${wallet.datasource.replica.username:${spring.datasource.username}}") String username,
+      @Value("${wallet.datasource.replica.password:${spring.datasource.password}}")
+          String password) {
+    var dataSource =
+        properties
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+    var dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+    dataSource.setReadOnlyDataSource(replicaDataSource);
+    return dataSource;
+  }
+}
@@ -0,0 +1,67 @@
+package br.com.recargapay.wallet.infrastructure.idempotency;
+
+import br.com.recargapay.wallet.domain.transaction.model.Type;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the serialized response of each processed operation in Redis, keyed by wallet, operation
+ * type and idempotency id, so a retry gets back the original body without touching the database.
+ * The store is best effort: when Redis is unavailable or the entry expired, the services still
+ * resolve the replay from the transactions table.
+ */
+@Slf4j
+@Component
+public class IdempotencyResponseStore {
+
+  private static final String KEY_PREFIX = "wallet:idempotency:";
+
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final Duration ttl;
+
+  public IdempotencyResponseStore(
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      @Value("${wallet.idempotency.response.ttl}") Duration ttl) {
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.ttl = ttl;
+  }
+
+  public Optional<String> find(UUID walletId, Type type, String idempotencyId) {
+    try {
+      return Optional.ofNullable(
+          redisTemplate.opsForValue().get(key(walletId, type, idempotencyId)));
+    } catch (RuntimeException e) {
+      log.warn("Could not read idempotent response for walletId: {}", walletId, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores the response unless one is already kept for the key, so the body of the request that
+   * created the transaction is the one every retry gets back.
+   */
+  public void save(UUID walletId, Type type, String idempotencyId, Object response) {
+    try {
+      redisTemplate
+          .opsForValue()
+          .setIfAbsent(
+              key(walletId, type, idempotencyId), objectMapper.writeValueAsString(response), ttl);
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("Could not store idempotent response for walletId: {}", walletId, e);
+    }
+  }
+
+  private static String key(UUID walletId, Type type, String idempotencyId) {
+    return KEY_PREFIX + type + ":" + walletId + ":" + idempotencyId;
+  }
+}
@@ -0,0 +1,98 @@
+package br.com.recargapay.wallet.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+
+/**
+ * Non-blocking SQS publisher. At most {@code max-in-flight} requests are outstanding at a time;
+ * callers wait up to {@code acquire-timeout-ms} for a free slot and are rejected after that.
+ */
+@Component
+public class SqsPublisher {
+
+  private final SqsAsyncClient sqsAsyncClient;
+  private final SqsQueueUrlResolver sqsQueueUrlResolver;
+  private final MeterRegistry meterRegistry;
+  private final Semaphore inFlight;
+  private final long acquireTimeoutMs;
+
+  public SqsPublisher(
+      SqsAsyncClient sqsAsyncClient,
+      SqsQueueUrlResolver sqsQueueUrlResolver,
+      MeterRegistry meterRegistry,
+      @Value("${wallet.sqs.publisher.max-in-flight}") int maxInFlight,
+      @Value("${wallet.sqs.publisher.acquire-timeout-ms}") long acquireTimeoutMs) {
+    this.sqsAsyncClient = sqsAsyncClient;
+    this.sqsQueueUrlResolver = sqsQueueUrlResolver;
+    this.meterRegistry = meterRegistry;
+    this.inFlight = new Semaphore(maxInFlight);
+    this.acquireTimeoutMs = acquireTimeoutMs;
+    Gauge.builder("wallet.sqs.publish.in.flight", inFlight, s -> maxInFlight - s.availablePermits())
+        .register(meterRegistry);
+  }
+
+  /**
+   * Sends up to 10 entries to the queue. The returned future completes with the SQS response, which
+   * may still contain failed entries, or exceptionally if the request could not be sent.
+   */
+  public CompletableFuture<SendMessageBatchResponse> publishBatch(
+      String queueName, List<SendMessageBatchRequestEntry> entries) {
+    if (!acquire()) {
+      failures(queueName).increment(entries.size());
+      return CompletableFuture.failedFuture(
+          new RejectedExecutionException("Too many in-flight requests to queue " + queueName));
+    }
+
+    var sample = Timer.start(meterRegistry);
+    return sqsQueueUrlResolver
+        .withQueueUrl(
+            queueName,
+            queueUrl ->
+                sqsAsyncClient.sendMessageBatch(
+                    builder -> builder.queueUrl(queueUrl).entries(entries)))
+        .whenComplete(
+            (response, error) -> {
+              inFlight.release();
+              sample.stop(latency(queueName, error == null ? "success" : "failure"));
+              var failed = error == null ? response.failed().size() : entries.size();
+              if (failed > 0) {
+                failures(queueName).increment(failed);
+              }
+            });
+  }
+
+  private boolean acquire() {
+    try {
+      return inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private Timer latency(String queueName, String outcome) {
+    return Timer.builder("wallet.sqs.publish")
+        .tag("queue", queueName)
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private Counter failures(String queueName) {
+    return Counter.builder("wallet.sqs.publish.failures")
+        .tag("queue", queueName)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,82 @@
+package br.com.recargapay.wallet.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+
+/**
+ * Resolves SQS queue URLs once per queue name and keeps them for the lifetime of the application. A
+ * cached URL is refreshed when SQS reports that the queue does not exist (e.g. it was recreated).
+ */
+@Component
+@Slf4j
+public class SqsQueueUrlResolver {
+
+  private final SqsClient sqsClient;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, String> queueUrls = new ConcurrentHashMap<>();
+
+  public SqsQueueUrlResolver(SqsClient sqsClient, MeterRegistry meterRegistry) {
+    this.sqsClient = sqsClient;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public String resolve(String queueName) {
+    return queueUrls.computeIfAbsent(queueName, this::fetch);
+  }
+
+  /**
+   * Calls {@code action} with the queue URL, refreshing the URL and retrying once if SQS reports
+   * that the queue does not exist.
+   */
+  public <T> CompletableFuture<T> withQueueUrl(
+      String queueName, Function<String, CompletableFuture<T>> action) {
+    return apply(queueName, action)
+        .exceptionallyCompose(
+            error -> {
+              if (!(unwrap(error) instanceof QueueDoesNotExistException)) {
+                return CompletableFuture.failedFuture(error);
+              }
+              log.warn("Queue {} not found with cached URL, refreshing", queueName);
+              queueUrls.remove(queueName);
+              Counter.builder("wallet.sqs.queue.url.refresh")
+                  .tag("queue", queueName)
+                  .register(meterRegistry)
+                  .increment();
+              return apply(queueName, action);
+            });
+  }
+
+  private <T> CompletableFuture<T> apply(
+      String queueName, Function<String, CompletableFuture<T>> action) {
+    try {
+      return action.apply(resolve(queueName));
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  private String fetch(String queueName) {
+    return Timer.builder("wallet.sqs.queue.url.resolution")
+        .tag("queue", queueName)
+        .register(meterRegistry)
+        .record(
+            () ->
+                sqsClient.getQueueUrl(builder -> builder.queueName(queueName).build()).queueUrl());
+  }
+}
@@ -0,0 +1,35 @@
+package br.com.recargapay.wallet.infrastructure.metrics;
+
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@code wallet.transfer.pending.oldest.age}, the age in seconds of the oldest transfer
+ * whose destination credit has not been processed yet, or zero when none is pending. A growing
+ * value means the credit consumer is stuck or falling behind. The value is read from the database
+ * each time the gauge is sampled.
+ */
+@Component
+public class PendingTransferAgeGauge {
+
+  private final TransactionRepository transactionRepository;
+
+  public PendingTransferAgeGauge(
+      TransactionRepository transactionRepository, MeterRegistry meterRegistry) {
+    this.transactionRepository = transactionRepository;
+    Gauge.builder("wallet.transfer.pending.oldest.age", this, PendingTransferAgeGauge::ageSeconds)
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  private double ageSeconds() {
+    return transactionRepository
+        .findOldestPendingTransferCreatedAt()
+        .map(createdAt -> Duration.between(createdAt, OffsetDateTime.now()).toMillis() / 1000.0)
+        .orElse(0.0);
+  }
+}
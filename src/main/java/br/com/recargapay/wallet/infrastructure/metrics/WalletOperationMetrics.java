@@ -0,0 +1,159 @@
+package br.com.recargapay.wallet.infrastructure.metrics;
+
+import br.com.recargapay.wallet.domain.wallet.exception.WalletErrorCode;
+import br.com.recargapay.wallet.infrastructure.common.Either;
+import br.com.recargapay.wallet.infrastructure.common.Error;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers for the money-movement operations, tagged with {@code operation}, {@code outcome} and
+ * {@code exception}. The outcome is {@code success}, the {@link WalletErrorCode} of the returned
+ * error, or {@code exception} when the call throws.
+ *
+ * <ul>
+ *   <li>{@code wallet.operation}: the whole call.
+ *   <li>{@code wallet.operation.lock.wait}: time spent in statements that lock wallet rows,
+ *       reported through {@link #recordLockWait}.
+ *   <li>{@code wallet.operation.business}: the rest of the call.
+ * </ul>
+ *
+ * <p>Bulk operations are timed as a whole through {@link #recordBatch}, which also counts their
+ * items by outcome in {@code wallet.operation.items}.
+ */
+@Component
+public class WalletOperationMetrics {
+
+  private static final String SUCCESS = "success";
+  private static final String EXCEPTION = "exception";
+  private static final String NONE = "none";
+
+  private static final ThreadLocal<Operation> CURRENT = new ThreadLocal<>();
+
+  private final MeterRegistry meterRegistry;
+
+  public WalletOperationMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public <T> Either<Error, T> record(String operation, Supplier<Either<Error, T>> call) {
+    var current = start(operation);
+    try {
+      var result = call.get();
+      stop(current, outcome(result), NONE);
+      return result;
+    } catch (RuntimeException e) {
+      stop(current, EXCEPTION, e.getClass().getSimpleName());
+      throw e;
+    }
+  }
+
+  public void record(String operation, Runnable call) {
+    var current = start(operation);
+    try {
+      call.run();
+      stop(current, SUCCESS, NONE);
+    } catch (RuntimeException e) {
+      stop(current, EXCEPTION, e.getClass().getSimpleName());
+      throw e;
+    }
+  }
+
+  public <T> List<Either<Error, T>> recordBatch(
+      String operation, Supplier<List<Either<Error, T>>> call) {
+    var current = start(operation);
+    List<Either<Error, T>> results;
+    try {
+      results = call.get();
+    } catch (RuntimeException e) {
+      stop(current, EXCEPTION, e.getClass().getSimpleName());
+      throw e;
+    }
+    stop(current, SUCCESS, NONE);
+    results.stream()
+        .collect(Collectors.groupingBy(WalletOperationMetrics::outcome, Collectors.counting()))
+        .forEach(
+            (outcome, count) ->
+                Counter.builder("wallet.operation.items")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(count));
+    return results;
+  }
+
+  /**
+   * Runs a statement that takes wallet row locks and adds its duration to the lock wait of the
+   * operation running on this thread. Outside of an operation it just runs the statement.
+   */
+  public <T> T recordLockWait(Supplier<T> statement) {
+    var current = CURRENT.get();
+    if (current == null) {
+      return statement.get();
+    }
+    var start = System.nanoTime();
+    try {
+      return statement.get();
+    } finally {
+      current.lockWaitNanos += System.nanoTime() - start;
+    }
+  }
+
+  private Operation start(String name) {
+    var operation = new Operation(name, CURRENT.get(), System.nanoTime());
+    CURRENT.set(operation);
+    return operation;
+  }
+
+  private void stop(Operation operation, String outcome, String exception) {
+    var total = System.nanoTime() - operation.startNanos;
+    if (operation.outer == null) {
+      CURRENT.remove();
+    } else {
+      operation.outer.lockWaitNanos += operation.lockWaitNanos;
+      CURRENT.set(operation.outer);
+    }
+
+    timer("wallet.operation", operation.name, outcome, exception)
+        .record(total, TimeUnit.NANOSECONDS);
+    timer("wallet.operation.lock.wait", operation.name, outcome, exception)
+        .record(operation.lockWaitNanos, TimeUnit.NANOSECONDS);
+    timer("wallet.operation.business", operation.name, outcome, exception)
+        .record(total - operation.lockWaitNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static String outcome(Either<Error, ?> result) {
+    return result
+        .getLeft()
+        .map(error -> WalletErrorCode.fromCode(error.code()).map(Enum::name).orElse(error.code()))
+        .orElse(SUCCESS);
+  }
+
+  private Timer timer(String name, String operation, String outcome, String exception) {
+    return Timer.builder(name)
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .tag("exception", exception)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private static final class Operation {
+    private final String name;
+    private final Operation outer;
+    private final long startNanos;
+    private long lockWaitNanos;
+
+    private Operation(String name, Operation outer, long startNanos) {
+      this.name = name;
+      this.outer = outer;
+      this.startNanos = startNanos;
+    }
+  }
+}
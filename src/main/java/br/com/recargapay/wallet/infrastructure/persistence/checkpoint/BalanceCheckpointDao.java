@@ -0,0 +1,64 @@
+package br.com.recargapay.wallet.infrastructure.persistence.checkpoint;
+
+import br.com.recargapay.wallet.domain.wallet.model.BalanceCheckpoint;
+import br.com.recargapay.wallet.domain.wallet.repository.BalanceCheckpointRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+interface BalanceCheckpointJpaRepository extends JpaRepository<BalanceCheckpoint, UUID> {
+
+  Optional<BalanceCheckpoint>
+      findFirstByWalletIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(
+          UUID walletId, OffsetDateTime at);
+
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO balance_checkpoints (id, wallet_id, balance, checkpoint_at, created_at) "
+              + "VALUES (:id, :walletId, :balance, :checkpointAt, :createdAt) "
+              + "ON CONFLICT (wallet_id, checkpoint_at) DO NOTHING",
+      nativeQuery = true)
+  void insertIfAbsent(
+      UUID id,
+      UUID walletId,
+      BigDecimal balance,
+      OffsetDateTime checkpointAt,
+      OffsetDateTime createdAt);
+}
+
+@Component
+public class BalanceCheckpointDao implements BalanceCheckpointRepository {
+
+  private final BalanceCheckpointJpaRepository balanceCheckpointJpaRepository;
+
+  public BalanceCheckpointDao(BalanceCheckpointJpaRepository balanceCheckpointJpaRepository) {
+    this.balanceCheckpointJpaRepository = balanceCheckpointJpaRepository;
+  }
+
+  @Override
+  @Transactional
+  public void create(BalanceCheckpoint checkpoint) {
+    balanceCheckpointJpaRepository.insertIfAbsent(
+        checkpoint.getId(),
+        checkpoint.getWalletId(),
+        checkpoint.getBalance(),
+        checkpoint.getCheckpointAt(),
+        checkpoint.getCreatedAt());
+  }
+
+  @Override
+  public Optional<BalanceCheckpoint> findLatestByWalletIdAtOrBefore(
+      UUID walletId, OffsetDateTime at) {
+    return balanceCheckpointJpaRepository
+        .findFirstByWalletIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(walletId, at);
+  }
+}
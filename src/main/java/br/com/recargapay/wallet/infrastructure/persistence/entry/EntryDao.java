@@ -2,17 +2,52 @@ package br.com.recargapay.wallet.infrastructure.persistence.entry;
 
 import br.com.recargapay.wallet.domain.transaction.model.Entry;
 import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 interface EntryJpaRepository extends JpaRepository<Entry, UUID> {
 
-  List<Entry> findByWalletIdAndCreatedAtBeforeOrderByCreatedAtAsc(UUID walletId, OffsetDateTime at);
+  @Query(
+      value =
+          "SELECT COALESCE(SUM(CASE WHEN financial_type = 'CREDIT'"
+              + " THEN amount ELSE -amount END), 0)"
+              + " FROM entries WHERE wallet_id = :walletId AND created_at < :at",
+      nativeQuery = true)
+  BigDecimal sumSignedAmountByWalletIdAndCreatedAtBefore(UUID walletId, OffsetDateTime at);
+
+  @Query(
+      value =
+          "SELECT COALESCE(SUM(CASE WHEN financial_type = 'CREDIT'"
+              + " THEN amount ELSE -amount END), 0)"
+              + " FROM entries WHERE wallet_id = :walletId"
+              + " AND created_at >= :from AND created_at < :to",
+      nativeQuery = true)
+  BigDecimal sumSignedAmountByWalletIdAndCreatedAtBetween(
+      UUID walletId, OffsetDateTime from, OffsetDateTime to);
+
+  @Query("SELECT DISTINCT e.walletId FROM Entry e WHERE e.createdAt >= :from AND e.createdAt < :to")
+  List<UUID> findDistinctWalletIdsByCreatedAtBetween(OffsetDateTime from, OffsetDateTime to);
+
+  @Query(
+      value = "SELECT DISTINCT wallet_id FROM entries WHERE pending_fold LIMIT :limit",
+      nativeQuery = true)
+  List<UUID> findDistinctWalletIdsByPendingFold(int limit);
+
+  @Query(
+      value =
+          "WITH folded AS (UPDATE entries SET pending_fold = FALSE"
+              + " WHERE wallet_id = :walletId AND pending_fold RETURNING amount)"
+              + " SELECT COALESCE(SUM(amount), 0) FROM folded",
+      nativeQuery = true)
+  BigDecimal foldPendingByWalletId(UUID walletId);
 }
 
 @Component
@@ -35,8 +70,29 @@ public class EntryDao implements EntryRepository {
   }
 
   @Override
-  public List<Entry> findByWalletIdAndCreatedAtBeforeOrderByCreatedAtAsc(
-      UUID walletId, OffsetDateTime at) {
-    return entryJpaRepository.findByWalletIdAndCreatedAtBeforeOrderByCreatedAtAsc(walletId, at);
+  public BigDecimal sumSignedAmountByWalletIdAndCreatedAtBefore(UUID walletId, OffsetDateTime at) {
+    return entryJpaRepository.sumSignedAmountByWalletIdAndCreatedAtBefore(walletId, at);
+  }
+
+  @Override
+  public BigDecimal sumSignedAmountByWalletIdAndCreatedAtBetween(
+      UUID walletId, OffsetDateTime from, OffsetDateTime to) {
+    return entryJpaRepository.sumSignedAmountByWalletIdAndCreatedAtBetween(walletId, from, to);
+  }
+
+  @Override
+  public List<UUID> findWalletIdsWithEntriesBetween(OffsetDateTime from, OffsetDateTime to) {
+    return entryJpaRepository.findDistinctWalletIdsByCreatedAtBetween(from, to);
+  }
+
+  @Override
+  public List<UUID> findWalletIdsWithPendingFold(int limit) {
+    return entryJpaRepository.findDistinctWalletIdsByPendingFold(limit);
+  }
+
+  @Override
+  @Transactional
+  public BigDecimal foldPendingByWalletId(UUID walletId) {
+    return entryJpaRepository.foldPendingByWalletId(walletId);
   }
 }
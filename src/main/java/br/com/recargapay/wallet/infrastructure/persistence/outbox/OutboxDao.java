@@ -0,0 +1,45 @@
+package br.com.recargapay.wallet.infrastructure.persistence.outbox;
+
+import br.com.recargapay.wallet.domain.outbox.model.OutboxMessage;
+import br.com.recargapay.wallet.domain.outbox.repository.OutboxRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+@Repository
+interface OutboxJpaRepository extends JpaRepository<OutboxMessage, UUID> {
+
+  @Query(
+      value = "SELECT * FROM outbox ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  List<OutboxMessage> findNextBatchForUpdateSkipLocked(int limit);
+}
+
+@Component
+public class OutboxDao implements OutboxRepository {
+
+  private final OutboxJpaRepository outboxJpaRepository;
+
+  public OutboxDao(OutboxJpaRepository outboxJpaRepository) {
+    this.outboxJpaRepository = outboxJpaRepository;
+  }
+
+  @Override
+  public void create(OutboxMessage message) {
+    outboxJpaRepository.save(message);
+  }
+
+  @Override
+  public List<OutboxMessage> lockNextBatch(int limit) {
+    return outboxJpaRepository.findNextBatchForUpdateSkipLocked(limit);
+  }
+
+  @Override
+  public void deleteAllById(Collection<UUID> ids) {
+    outboxJpaRepository.deleteAllByIdInBatch(ids);
+  }
+}
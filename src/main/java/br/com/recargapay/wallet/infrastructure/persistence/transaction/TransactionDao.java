@@ -3,18 +3,96 @@ package br.com.recargapay.wallet.infrastructure.persistence.transaction;
 import br.com.recargapay.wallet.domain.transaction.model.Transaction;
 import br.com.recargapay.wallet.domain.transaction.model.Type;
 import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.PendingTransferCursor;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryCursor;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 interface TransactionJpaRepository extends JpaRepository<Transaction, UUID> {
 
   Optional<Transaction> findByWalletIdAndIdempotencyIdAndType(
       UUID walletId, String idempotencyId, Type type);
 
+  List<Transaction> findAllByWalletIdInAndIdempotencyIdInAndType(
+      Collection<UUID> walletIds, Collection<String> idempotencyIds, Type type);
+
   Optional<Transaction> findByIdAndWalletIdAndType(
       UUID transactionId, UUID sourceWalletId, Type type);
+
+  @Query(
+      value =
+          "INSERT INTO transactions (id, wallet_id, wallet_destination_id, idempotency_id, amount,"
+              + " type, status, created_at, updated_at)"
+              + " SELECT :id, :walletId, CAST(:walletDestinationId AS UUID), :idempotencyId,"
+              + " :amount, :type, :status, :createdAt, :updatedAt"
+              + " WHERE EXISTS (SELECT 1 FROM wallets WHERE id = :walletId)"
+              + " ON CONFLICT (wallet_id, idempotency_id, type) DO NOTHING RETURNING id",
+      nativeQuery = true)
+  Optional<UUID> insertIfAbsent(
+      UUID id,
+      UUID walletId,
+      String walletDestinationId,
+      String idempotencyId,
+      BigDecimal amount,
+      String type,
+      String status,
+      OffsetDateTime createdAt,
+      OffsetDateTime updatedAt);
+
+  // Enum literals are rendered inline, so the planner can always match the partial index
+  // idx_transactions_pending_transfer_created_at; the gauge runs this on every scrape.
+  @Query(
+      "SELECT min(t.createdAt) FROM Transaction t"
+          + " WHERE t.type = br.com.recargapay.wallet.domain.transaction.model.Type.TRANSFER"
+          + " AND t.status = br.com.recargapay.wallet.domain.transaction.model.Status.PENDING")
+  Optional<OffsetDateTime> findOldestPendingTransferCreatedAt();
+
+  @Query(
+      value =
+          "SELECT * FROM transactions"
+              + " WHERE status = 'PENDING' AND type = 'TRANSFER' AND updated_at < :updatedBefore"
+              + " AND (updated_at, id) > (:afterUpdatedAt, :afterId)"
+              + " ORDER BY updated_at, id LIMIT :limit",
+      nativeQuery = true)
+  List<Transaction> findPendingTransfersUpdatedBefore(
+      OffsetDateTime updatedBefore, OffsetDateTime afterUpdatedAt, UUID afterId, int limit);
+
+  // One keyset branch per side of the transaction: operations of the wallet seek
+  // idx_transaction_wallet_id_created_at and transfers into it seek
+  // idx_transaction_wallet_destination_id_created_at. The plain created_at bound drives the seek
+  // and the row comparison breaks ties between transactions created at the same instant.
+  @Query(
+      value =
+          "SELECT * FROM ("
+              + "(SELECT * FROM transactions"
+              + " WHERE wallet_id = :walletId AND created_at <= :beforeCreatedAt"
+              + " AND (created_at, id) < (:beforeCreatedAt, :beforeId)"
+              + " ORDER BY created_at DESC, id DESC LIMIT :limit)"
+              + " UNION ALL"
+              + " (SELECT * FROM transactions"
+              + " WHERE wallet_destination_id = :walletId AND created_at <= :beforeCreatedAt"
+              + " AND (created_at, id) < (:beforeCreatedAt, :beforeId)"
+              + " ORDER BY created_at DESC, id DESC LIMIT :limit)"
+              + ") history ORDER BY created_at DESC, id DESC LIMIT :limit",
+      nativeQuery = true)
+  List<Transaction> findByWalletIdBefore(
+      UUID walletId, OffsetDateTime beforeCreatedAt, UUID beforeId, int limit);
+
+  @Query(
+      value =
+          "UPDATE transactions SET status = 'PROCESSED', updated_at = now()"
+              + " WHERE id IN (:ids) AND type = 'TRANSFER' AND status = 'PENDING' RETURNING id",
+      nativeQuery = true)
+  List<UUID> markTransfersProcessed(Collection<UUID> ids);
 }
 
 @Component
@@ -31,6 +109,28 @@ public class TransactionDao implements TransactionRepository {
     transactionJpaRepository.save(transaction);
   }
 
+  @Override
+  @Transactional
+  public boolean createIfAbsent(Transaction transaction) {
+    return transactionJpaRepository
+        .insertIfAbsent(
+            transaction.getId(),
+            transaction.getWalletId(),
+            Objects.toString(transaction.getWalletDestinationId(), null),
+            transaction.getIdempotencyId(),
+            transaction.getAmount(),
+            transaction.getType().name(),
+            transaction.getStatus().name(),
+            transaction.getCreatedAt(),
+            transaction.getUpdatedAt())
+        .isPresent();
+  }
+
+  @Override
+  public void create(List<Transaction> transactions) {
+    transactionJpaRepository.saveAll(transactions);
+  }
+
   @Override
   public Optional<Transaction> findByWalletIdAndIdempotencyIdAndType(
       UUID walletId, String idempotencyId, Type type) {
@@ -38,6 +138,13 @@ public class TransactionDao implements TransactionRepository {
         walletId, idempotencyId, type);
   }
 
+  @Override
+  public List<Transaction> findAllByWalletIdInAndIdempotencyIdInAndType(
+      Collection<UUID> walletIds, Collection<String> idempotencyIds, Type type) {
+    return transactionJpaRepository.findAllByWalletIdInAndIdempotencyIdInAndType(
+        walletIds, idempotencyIds, type);
+  }
+
   @Override
   public void update(Transaction transaction) {
     transactionJpaRepository.save(transaction);
@@ -47,4 +154,34 @@ public class TransactionDao implements TransactionRepository {
   public Optional<Transaction> loadById(UUID transactionId) {
     return transactionJpaRepository.findById(transactionId);
   }
+
+  @Override
+  public List<Transaction> loadAllById(Collection<UUID> transactionIds) {
+    return transactionJpaRepository.findAllById(transactionIds);
+  }
+
+  @Override
+  @Transactional
+  public List<UUID> markTransfersProcessed(Collection<UUID> transactionIds) {
+    return transactionJpaRepository.markTransfersProcessed(transactionIds);
+  }
+
+  @Override
+  public Optional<OffsetDateTime> findOldestPendingTransferCreatedAt() {
+    return transactionJpaRepository.findOldestPendingTransferCreatedAt();
+  }
+
+  @Override
+  public List<Transaction> findPendingTransfersUpdatedBefore(
+      OffsetDateTime updatedBefore, PendingTransferCursor cursor, int limit) {
+    return transactionJpaRepository.findPendingTransfersUpdatedBefore(
+        updatedBefore, cursor.updatedAt(), cursor.id(), limit);
+  }
+
+  @Override
+  public List<Transaction> findByWalletIdBefore(
+      UUID walletId, TransactionHistoryCursor cursor, int limit) {
+    return transactionJpaRepository.findByWalletIdBefore(
+        walletId, cursor.createdAt(), cursor.id(), limit);
+  }
 }
@@ -0,0 +1,36 @@
+package br.com.recargapay.wallet.infrastructure.persistence.wallet;
+
+import br.com.recargapay.wallet.domain.wallet.model.WalletBalanceShard;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+interface WalletBalanceShardJpaRepository extends JpaRepository<WalletBalanceShard, UUID> {
+
+  @Query(
+      value =
+          "SELECT * FROM wallet_balance_shards WHERE wallet_id = :walletId"
+              + " ORDER BY shard FOR UPDATE",
+      nativeQuery = true)
+  List<WalletBalanceShard> findAllByWalletIdForUpdate(UUID walletId);
+
+  @Query(
+      value =
+          "UPDATE wallet_balance_shards SET balance = balance + :amount"
+              + " WHERE wallet_id = :walletId AND shard = :shard RETURNING balance",
+      nativeQuery = true)
+  Optional<BigDecimal> creditShard(UUID walletId, int shard, BigDecimal amount);
+
+  @Query(
+      value =
+          "UPDATE wallet_balance_shards SET balance = balance - :amount"
+              + " WHERE wallet_id = :walletId AND shard = :shard AND balance >= :amount"
+              + " RETURNING balance",
+      nativeQuery = true)
+  Optional<BigDecimal> debitShard(UUID walletId, int shard, BigDecimal amount);
+}
@@ -2,11 +2,17 @@ package br.com.recargapay.wallet.infrastructure.persistence.wallet;
 
 import br.com.recargapay.wallet.domain.wallet.model.Currency;
 import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.model.WalletBalanceShard;
 import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -17,27 +23,85 @@ import org.springframework.transaction.annotation.Transactional;
 @Repository
 interface WalletJpaRepository extends JpaRepository<Wallet, UUID> {
 
+  String PENDING_FOLD_SUM =
+      "COALESCE((SELECT SUM(e.amount) FROM entries e"
+          + " WHERE e.wallet_id = :walletId AND e.pending_fold), 0)";
+
   @Query(value = "SELECT * FROM wallets WHERE id = :id FOR UPDATE;", nativeQuery = true)
   Optional<Wallet> findByIdForUpdate(UUID id);
 
+  @Query(
+      value =
+          "SELECT w.balance"
+              + " + COALESCE((SELECT SUM(s.balance) FROM wallet_balance_shards s"
+              + " WHERE s.wallet_id = w.id), 0)"
+              + " + COALESCE((SELECT SUM(e.amount) FROM entries e"
+              + " WHERE e.wallet_id = w.id AND e.pending_fold), 0)"
+              + " FROM wallets w WHERE w.id = :walletId",
+      nativeQuery = true)
+  Optional<BigDecimal> findAvailableBalanceById(UUID walletId);
+
+  @Query("SELECT w.balanceShards FROM Wallet w WHERE w.id = :walletId")
+  Optional<Integer> findBalanceShardsById(UUID walletId);
+
+  @Modifying
+  @Query(value = "UPDATE wallets SET hot = :hot WHERE id = :walletId", nativeQuery = true)
+  void updateHot(UUID walletId, boolean hot);
+
+  @Query(
+      value =
+          "INSERT INTO wallets (id, customer_id, balance, currency, active, hot, balance_shards,"
+              + " created_at, updated_at)"
+              + " VALUES (:id, :customerId, :balance, :currency, :active, FALSE, 1,"
+              + " :createdAt, :updatedAt)"
+              + " ON CONFLICT (customer_id, currency) DO NOTHING RETURNING *",
+      nativeQuery = true)
+  Optional<Wallet> insertIfAbsent(
+      UUID id,
+      UUID customerId,
+      BigDecimal balance,
+      String currency,
+      boolean active,
+      OffsetDateTime createdAt,
+      OffsetDateTime updatedAt);
+
   List<Wallet> findAllByCustomerIdAndCurrency(UUID customerId, Currency currency);
 
   List<Wallet> findAllByCustomerId(UUID customerId);
 
-  @Modifying()
   @Query(
-      value = "UPDATE wallets SET balance = balance + :amount WHERE id = :walletId",
+      value =
+          "UPDATE wallets SET balance = balance + :amount, updated_at = now()"
+              + " WHERE id = :walletId AND balance_shards = 1"
+              + " RETURNING balance + "
+              + PENDING_FOLD_SUM,
       nativeQuery = true)
-  void creditBalance(UUID walletId, BigDecimal amount);
+  Optional<BigDecimal> creditBalance(UUID walletId, BigDecimal amount);
+
+  @Query(
+      value =
+          "UPDATE wallets SET balance = balance - :amount, updated_at = now()"
+              + " WHERE id = :walletId AND balance_shards = 1 AND balance >= :amount"
+              + " RETURNING balance + "
+              + PENDING_FOLD_SUM,
+      nativeQuery = true)
+  Optional<BigDecimal> debitBalance(UUID walletId, BigDecimal amount);
 }
 
 @Component
 public class WalletDao implements WalletRepository {
 
   private final WalletJpaRepository walletJpaRepository;
+  private final WalletBalanceShardJpaRepository walletBalanceShardJpaRepository;
+  private final EntityManager entityManager;
 
-  public WalletDao(WalletJpaRepository walletJpaRepository) {
+  public WalletDao(
+      WalletJpaRepository walletJpaRepository,
+      WalletBalanceShardJpaRepository walletBalanceShardJpaRepository,
+      EntityManager entityManager) {
     this.walletJpaRepository = walletJpaRepository;
+    this.walletBalanceShardJpaRepository = walletBalanceShardJpaRepository;
+    this.entityManager = entityManager;
   }
 
   @Override
@@ -50,6 +114,23 @@ public class WalletDao implements WalletRepository {
     return walletJpaRepository.findById(walletId);
   }
 
+  @Override
+  public List<Wallet> findAllById(Collection<UUID> walletIds) {
+    return walletJpaRepository.findAllById(walletIds);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<BigDecimal> findAvailableBalanceById(UUID walletId) {
+    return walletJpaRepository.findAvailableBalanceById(walletId);
+  }
+
+  @Override
+  @Transactional
+  public void updateHot(UUID walletId, boolean hot) {
+    walletJpaRepository.updateHot(walletId, hot);
+  }
+
   @Override
   public Wallet save(Wallet wallet) {
     return walletJpaRepository.saveAndFlush(wallet);
@@ -57,8 +138,95 @@ public class WalletDao implements WalletRepository {
 
   @Override
   @Transactional
-  public void creditBalance(UUID walletId, BigDecimal amount) {
-    walletJpaRepository.creditBalance(walletId, amount);
+  public Optional<Wallet> createIfAbsent(Wallet wallet) {
+    return walletJpaRepository.insertIfAbsent(
+        wallet.getId(),
+        wallet.getCustomerId(),
+        wallet.getBalance(),
+        wallet.getCurrency().name(),
+        wallet.isActive(),
+        wallet.getCreatedAt(),
+        wallet.getUpdatedAt());
+  }
+
+  @Override
+  @Transactional
+  public Optional<Wallet> enableBalanceSharding(UUID walletId, int shards) {
+    // The balance is moved by native UPDATEs that bypass the persistence context, so a wallet the
+    // caller already loaded may hold a stale balance; refresh it under the row lock before
+    // splitting it.
+    return walletJpaRepository
+        .findById(walletId)
+        .map(
+            wallet -> {
+              entityManager.refresh(wallet, LockModeType.PESSIMISTIC_WRITE);
+              walletBalanceShardJpaRepository.saveAll(wallet.shard(shards));
+              return walletJpaRepository.saveAndFlush(wallet);
+            });
+  }
+
+  @Override
+  @Transactional
+  public Optional<BigDecimal> creditBalance(UUID walletId, BigDecimal amount) {
+    var balance = walletJpaRepository.creditBalance(walletId, amount);
+    if (balance.isPresent()) {
+      return balance;
+    }
+    return walletJpaRepository
+        .findBalanceShardsById(walletId)
+        .filter(shards -> shards > 1)
+        .flatMap(
+            shards -> {
+              walletBalanceShardJpaRepository.creditShard(walletId, randomShard(shards), amount);
+              return walletJpaRepository.findAvailableBalanceById(walletId);
+            });
+  }
+
+  @Override
+  @Transactional
+  public Optional<BigDecimal> debitBalance(UUID walletId, BigDecimal amount) {
+    var balance = walletJpaRepository.debitBalance(walletId, amount);
+    if (balance.isPresent()) {
+      return balance;
+    }
+    return walletJpaRepository
+        .findBalanceShardsById(walletId)
+        .filter(shards -> shards > 1)
+        .filter(
+            shards ->
+                walletBalanceShardJpaRepository
+                        .debitShard(walletId, randomShard(shards), amount)
+                        .isPresent()
+                    || sweepShards(walletId, amount))
+        .flatMap(shards -> walletJpaRepository.findAvailableBalanceById(walletId));
+  }
+
+  /**
+   * Debits {@code amount} across every shard of the wallet when no single shard can cover it. The
+   * shards are locked in a fixed order so concurrent sweeps cannot deadlock.
+   */
+  private boolean sweepShards(UUID walletId, BigDecimal amount) {
+    var shards = walletBalanceShardJpaRepository.findAllByWalletIdForUpdate(walletId);
+    var total =
+        shards.stream()
+            .map(WalletBalanceShard::getBalance)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    if (total.compareTo(amount) < 0) {
+      return false;
+    }
+    var remaining = amount;
+    for (WalletBalanceShard shard : shards) {
+      if (remaining.signum() == 0) {
+        break;
+      }
+      remaining = remaining.subtract(shard.drain(remaining));
+    }
+    walletBalanceShardJpaRepository.saveAllAndFlush(shards);
+    return true;
+  }
+
+  private static int randomShard(int shards) {
+    return ThreadLocalRandom.current().nextInt(shards);
   }
 
   @Override
@@ -27,6 +27,9 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableWebSecurity
 public class SecurityConfig {
 
+  public static final String BULK_SCOPE = "wallet:bulk";
+  public static final String ADMIN_SCOPE = "wallet:admin";
+
   @Value("${jwt.public.key}")
   private RSAPublicKey publicKey;
 
@@ -39,12 +42,16 @@ public class SecurityConfig {
         .authorizeHttpRequests(
             authorize ->
                 authorize
-                    .requestMatchers("/api/v1/authentication")
+                    .requestMatchers("/api/v1/authentication", "/api/v1/authentication/clients")
                     .permitAll()
                     .requestMatchers("/api/v1/customers")
                     .permitAll()
                     .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html")
                     .permitAll()
+                    .requestMatchers("/api/v1/deposits/bulk", "/api/v1/withdrawals/bulk")
+                    .hasAuthority("SCOPE_" + BULK_SCOPE)
+                    .requestMatchers("/api/v1/admin/**")
+                    .hasAuthority("SCOPE_" + ADMIN_SCOPE)
                     .anyRequest()
                     .authenticated())
         .sessionManagement(
@@ -0,0 +1,16 @@
+--liquibase formatted sql
+--changeset david:V20261018090000__add_balance_checkpoint_table
+
+CREATE TABLE IF NOT EXISTS balance_checkpoints
+(
+    id            UUID PRIMARY KEY,
+    wallet_id     UUID                     NOT NULL,
+    balance       DECIMAL(19, 2)           NOT NULL,
+    checkpoint_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at    TIMESTAMP WITH TIME ZONE NOT NULL,
+    FOREIGN KEY (wallet_id) REFERENCES wallets (id),
+    CONSTRAINT unq_balance_checkpoint_wallet_checkpoint_at UNIQUE (wallet_id, checkpoint_at)
+);
+
+CREATE INDEX IF NOT EXISTS idx_entry_created_at ON entries (created_at);
+--rollback
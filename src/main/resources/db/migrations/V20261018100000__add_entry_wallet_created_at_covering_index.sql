@@ -0,0 +1,5 @@
+--liquibase formatted sql
+--changeset david:V20261018100000__add_entry_wallet_created_at_covering_index
+
+CREATE INDEX IF NOT EXISTS idx_entry_wallet_id_created_at ON entries (wallet_id, created_at) INCLUDE (amount, financial_type);
+--rollback
@@ -0,0 +1,15 @@
+--liquibase formatted sql
+--changeset david:V20261018110000__add_outbox_table
+
+CREATE TABLE IF NOT EXISTS outbox
+(
+    id           UUID PRIMARY KEY,
+    aggregate_id UUID                     NOT NULL,
+    type         VARCHAR(255)             NOT NULL,
+    destination  VARCHAR(255)             NOT NULL,
+    payload      TEXT                     NOT NULL,
+    created_at   TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_created_at ON outbox (created_at);
+--rollback
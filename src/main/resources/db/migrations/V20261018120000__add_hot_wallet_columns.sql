@@ -0,0 +1,9 @@
+--liquibase formatted sql
+--changeset david:V20261018120000__add_hot_wallet_columns
+
+ALTER TABLE wallets ADD COLUMN IF NOT EXISTS hot BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS pending_fold BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_entries_pending_fold ON entries (wallet_id) WHERE pending_fold;
+--rollback
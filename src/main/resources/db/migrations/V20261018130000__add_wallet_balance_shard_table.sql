@@ -0,0 +1,14 @@
+--liquibase formatted sql
+--changeset david:V20261018130000__add_wallet_balance_shard_table
+
+ALTER TABLE wallets ADD COLUMN IF NOT EXISTS balance_shards INTEGER NOT NULL DEFAULT 1;
+
+CREATE TABLE IF NOT EXISTS wallet_balance_shards
+(
+    id        UUID PRIMARY KEY,
+    wallet_id UUID           NOT NULL,
+    shard     INTEGER        NOT NULL,
+    balance   DECIMAL(19, 2) NOT NULL,
+    CONSTRAINT unq_wallet_balance_shard_wallet_shard UNIQUE (wallet_id, shard)
+);
+--rollback
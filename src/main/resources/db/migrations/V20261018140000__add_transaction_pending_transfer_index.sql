@@ -0,0 +1,5 @@
+--liquibase formatted sql
+--changeset david:V20261018140000__add_transaction_pending_transfer_index
+
+CREATE INDEX IF NOT EXISTS idx_transactions_pending_transfer ON transactions (updated_at, id) WHERE status = 'PENDING' AND type = 'TRANSFER';
+--rollback
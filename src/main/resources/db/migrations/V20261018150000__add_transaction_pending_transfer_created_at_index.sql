@@ -0,0 +1,5 @@
+--liquibase formatted sql
+--changeset david:V20261018150000__add_transaction_pending_transfer_created_at_index
+
+CREATE INDEX IF NOT EXISTS idx_transactions_pending_transfer_created_at ON transactions (created_at) WHERE status = 'PENDING' AND type = 'TRANSFER';
+--rollback
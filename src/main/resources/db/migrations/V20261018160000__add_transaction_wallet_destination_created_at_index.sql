@@ -0,0 +1,5 @@
+--liquibase formatted sql
+--changeset david:V20261018160000__add_transaction_wallet_destination_created_at_index
+
+CREATE INDEX IF NOT EXISTS idx_transaction_wallet_destination_id_created_at ON transactions (wallet_destination_id, created_at) WHERE wallet_destination_id IS NOT NULL;
+--rollback
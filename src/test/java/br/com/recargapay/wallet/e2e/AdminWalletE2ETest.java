@@ -0,0 +1,119 @@
+package br.com.recargapay.wallet.e2e;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import br.com.recargapay.wallet.support.EndToEndTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+class AdminWalletE2ETest extends EndToEndTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Nested
+  @DisplayName("PUT /api/v1/admin/wallets/{walletId}/hot")
+  class HotWallet {
+
+    @Test
+    @DisplayName("returns 403 for a customer token without the wallet:admin scope")
+    void forbidsCustomerToken() throws Exception {
+      register(mockMvc, "Admin Customer", "admin-customer@example.com", "password");
+      var token = login(mockMvc, "admin-customer@example.com", "password");
+      var walletId = createWalletAndGetId(mockMvc, token, "BRL");
+
+      mockMvc
+          .perform(
+              put("/api/v1/admin/wallets/{walletId}/hot", walletId)
+                  .header("Authorization", "Bearer " + token)
+                  .contentType(APPLICATION_JSON)
+                  .content("{\"hot\":true}"))
+          .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("returns 204 for the admin client token")
+    void marksWalletAsHot() throws Exception {
+      register(mockMvc, "Hot Merchant", "hot-merchant@example.com", "password");
+      var token = login(mockMvc, "hot-merchant@example.com", "password");
+      var walletId = createWalletAndGetId(mockMvc, token, "BRL");
+
+      mockMvc
+          .perform(
+              put("/api/v1/admin/wallets/{walletId}/hot", walletId)
+                  .header("Authorization", "Bearer " + adminToken())
+                  .contentType(APPLICATION_JSON)
+                  .content("{\"hot\":true}"))
+          .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("returns 404 for an unknown wallet")
+    void rejectsUnknownWallet() throws Exception {
+      mockMvc
+          .perform(
+              put("/api/v1/admin/wallets/{walletId}/hot", UUID.randomUUID())
+                  .header("Authorization", "Bearer " + adminToken())
+                  .contentType(APPLICATION_JSON)
+                  .content("{\"hot\":true}"))
+          .andExpect(status().isNotFound());
+    }
+  }
+
+  @Nested
+  @DisplayName("PUT /api/v1/admin/wallets/{walletId}/balance-shards")
+  class BalanceShards {
+
+    @Test
+    @DisplayName("returns 200 with the new shard count and 400 when it does not grow")
+    void shardsBalance() throws Exception {
+      register(mockMvc, "Sharded Merchant", "sharded-merchant@example.com", "password");
+      var token = login(mockMvc, "sharded-merchant@example.com", "password");
+      var walletId = createWalletAndGetId(mockMvc, token, "BRL");
+      var adminToken = adminToken();
+
+      mockMvc
+          .perform(
+              put("/api/v1/admin/wallets/{walletId}/balance-shards", walletId)
+                  .header("Authorization", "Bearer " + adminToken)
+                  .contentType(APPLICATION_JSON)
+                  .content("{\"shards\":8}"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.id").value(walletId))
+          .andExpect(jsonPath("$.balanceShards").value(8));
+
+      mockMvc
+          .perform(
+              put("/api/v1/admin/wallets/{walletId}/balance-shards", walletId)
+                  .header("Authorization", "Bearer " + adminToken)
+                  .contentType(APPLICATION_JSON)
+                  .content("{\"shards\":4}"))
+          .andExpect(status().isBadRequest());
+    }
+  }
+
+  private String adminToken() throws Exception {
+    var result =
+        mockMvc
+            .perform(
+                post("/api/v1/authentication/clients")
+                    .contentType(APPLICATION_JSON)
+                    .content(
+                        "{\"clientId\":\"admin-client\",\"clientSecret\":\"admin-client-secret\"}"))
+            .andExpect(status().isOk())
+            .andReturn();
+    return objectMapper
+        .readTree(result.getResponse().getContentAsString())
+        .get("accessToken")
+        .asText();
+  }
+}
@@ -0,0 +1,104 @@
+package br.com.recargapay.wallet.e2e;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import br.com.recargapay.wallet.support.EndToEndTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+class BulkOperationE2ETest extends EndToEndTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Nested
+  @DisplayName("POST /api/v1/authentication/clients")
+  class ClientToken {
+
+    @Test
+    @DisplayName("returns 401 for a wrong client secret")
+    void rejectsWrongSecret() throws Exception {
+      mockMvc
+          .perform(
+              post("/api/v1/authentication/clients")
+                  .contentType(APPLICATION_JSON)
+                  .content("{\"clientId\":\"bulk-client\",\"clientSecret\":\"wrong\"}"))
+          .andExpect(status().isUnauthorized());
+    }
+  }
+
+  @Nested
+  @DisplayName("PUT /api/v1/deposits/bulk")
+  class BulkDeposit {
+
+    @Test
+    @DisplayName("returns 403 for a customer token without the wallet:bulk scope")
+    void forbidsCustomerToken() throws Exception {
+      register(mockMvc, "Bulk Customer", "bulk-customer@example.com", "password");
+      var token = login(mockMvc, "bulk-customer@example.com", "password");
+      var walletId = createWalletAndGetId(mockMvc, token, "BRL");
+
+      mockMvc
+          .perform(
+              put("/api/v1/deposits/bulk")
+                  .header("Authorization", "Bearer " + token)
+                  .contentType(APPLICATION_JSON)
+                  .content(bulkBody(walletId, "payroll-1")))
+          .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("returns 200 and credits the wallets for the service client token")
+    void depositsWithClientToken() throws Exception {
+      register(mockMvc, "Bulk Payee", "bulk-payee@example.com", "password");
+      var customerToken = login(mockMvc, "bulk-payee@example.com", "password");
+      var walletId = createWalletAndGetId(mockMvc, customerToken, "BRL");
+
+      mockMvc
+          .perform(
+              put("/api/v1/deposits/bulk")
+                  .header("Authorization", "Bearer " + clientToken())
+                  .contentType(APPLICATION_JSON)
+                  .content(bulkBody(walletId, "payroll-1")))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.results[0].walletId").value(walletId))
+          .andExpect(jsonPath("$.results[0].transaction").exists());
+
+      mockMvc
+          .perform(
+              get("/api/v1/wallets/balance").header("Authorization", "Bearer " + customerToken))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.balance").value(25.00));
+    }
+  }
+
+  private String clientToken() throws Exception {
+    var result =
+        mockMvc
+            .perform(
+                post("/api/v1/authentication/clients")
+                    .contentType(APPLICATION_JSON)
+                    .content(
+                        "{\"clientId\":\"bulk-client\",\"clientSecret\":\"bulk-client-secret\"}"))
+            .andExpect(status().isOk())
+            .andReturn();
+    return objectMapper
+        .readTree(result.getResponse().getContentAsString())
+        .get("accessToken")
+        .asText();
+  }
+
+  private static String bulkBody(String walletId, String idempotencyId) {
+    return "{\"items\":[{\"walletId\":\"%s\",\"amount\":\"25.00\",\"idempotencyId\":\"%s\"}]}"
+        .formatted(walletId, idempotencyId);
+  }
+}
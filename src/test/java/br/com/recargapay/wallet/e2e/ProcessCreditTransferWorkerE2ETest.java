@@ -2,7 +2,9 @@ package br.com.recargapay.wallet.e2e;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import br.com.recargapay.wallet.application.Headers;
@@ -10,13 +12,16 @@ import br.com.recargapay.wallet.domain.transaction.model.Status;
 import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
 import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
 import br.com.recargapay.wallet.support.EndToEndTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +31,65 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(propagation = Propagation.NOT_SUPPORTED)
 public class ProcessCreditTransferWorkerE2ETest extends EndToEndTest {
 
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private JdbcTemplate jdbcTemplate;
   @Autowired private TransactionRepository transactionRepository;
   @Autowired private EntryRepository entryRepository;
 
+  private void register(String fullName, String email, String password) throws Exception {
+    register(mockMvc, fullName, email, password);
+  }
+
+  private String login(String email, String password) throws Exception {
+    return login(mockMvc, email, password);
+  }
+
+  private String createWalletAndGetId(String token, String currency) throws Exception {
+    return createWalletAndGetId(mockMvc, token, currency);
+  }
+
+  private void deposit(String token, String amount, String idempotencyId) throws Exception {
+    deposit(mockMvc, token, amount, idempotencyId);
+  }
+
+  private void awaitTransactionProcessed(UUID transactionId) throws Exception {
+    for (int i = 0; i < 20; i++) {
+      var status =
+          transactionRepository.loadById(transactionId).map(t -> t.getStatus()).orElse(null);
+      if (status == Status.PROCESSED) {
+        return;
+      }
+      Thread.sleep(500);
+    }
+    assertEquals(
+        Status.PROCESSED,
+        transactionRepository.loadById(transactionId).map(t -> t.getStatus()).orElse(null));
+  }
+
+  private void awaitBalance(String token, double expectedBalance) throws Exception {
+    for (int i = 0; i < 20; i++) {
+      var result =
+          mockMvc
+              .perform(get("/api/v1/wallets/balance").header("Authorization", "Bearer " + token))
+              .andExpect(status().isOk())
+              .andReturn();
+      var currentBalance =
+          objectMapper
+              .readTree(result.getResponse().getContentAsString())
+              .get("balance")
+              .asDouble();
+      if (Math.abs(currentBalance - expectedBalance) < 0.001) {
+        return;
+      }
+      Thread.sleep(500);
+    }
+    mockMvc
+        .perform(get("/api/v1/wallets/balance").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.balance").value(expectedBalance));
+  }
+
   @Test
   @DisplayName("Should process credit transfer correctly from SQS message")
   void shouldProcessCreditTransferCorrectly() throws Exception {
@@ -0,0 +1,86 @@
+package br.com.recargapay.wallet.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.recargapay.wallet.domain.transaction.model.Entry;
+import br.com.recargapay.wallet.domain.transaction.model.FinancialType;
+import br.com.recargapay.wallet.domain.transaction.model.Status;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
+import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import br.com.recargapay.wallet.support.IntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionBatchInsertIntegrationTest extends IntegrationTest {
+
+  @Autowired private DataSource dataSource;
+  @Autowired private EntityManager entityManager;
+  @Autowired private WalletRepository walletRepository;
+  @Autowired private TransactionRepository transactionRepository;
+  @Autowired private EntryRepository entryRepository;
+
+  @Test
+  @DisplayName("Should enable reWriteBatchedInserts on the PostgreSQL driver")
+  void reWriteBatchedInsertsEnabled() throws SQLException {
+    var properties = dataSource.unwrap(HikariDataSource.class).getDataSourceProperties();
+
+    assertEquals("true", String.valueOf(properties.get("reWriteBatchedInserts")));
+  }
+
+  @Test
+  @DisplayName("Should insert a processed transaction and its entry without select or update")
+  void insertWithoutMerge() {
+    Wallet wallet = walletRepository.save(new Wallet(UUID.randomUUID(), "BRL"));
+    var statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    Transaction transaction =
+        new Transaction(
+            UUID.randomUUID(),
+            wallet.getId(),
+            null,
+            "idem-batch",
+            BigDecimal.TEN,
+            Type.DEPOSIT,
+            Status.PROCESSED,
+            OffsetDateTime.now(),
+            OffsetDateTime.now());
+    Entry entry =
+        new Entry(
+            UUID.randomUUID(),
+            wallet.getId(),
+            transaction.getId(),
+            BigDecimal.TEN,
+            FinancialType.CREDIT,
+            OffsetDateTime.now());
+
+    assertTrue(transaction.isNew());
+    transactionRepository.create(transaction);
+    entryRepository.create(entry);
+    entityManager.flush();
+
+    assertFalse(transaction.isNew());
+    assertFalse(entry.isNew());
+    assertEquals(2, statistics.getEntityInsertCount());
+    assertEquals(0, statistics.getEntityUpdateCount());
+    assertEquals(2, statistics.getPrepareStatementCount());
+  }
+}
@@ -0,0 +1,70 @@
+package br.com.recargapay.wallet.integration;
+
+import static br.com.recargapay.wallet.infrastructure.common.UUIDGenerator.generate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.recargapay.wallet.domain.transaction.model.Status;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import br.com.recargapay.wallet.support.IntegrationTest;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class TransactionCreateIfAbsentIntegrationTest extends IntegrationTest {
+
+  @Autowired private WalletRepository walletRepository;
+  @Autowired private TransactionRepository transactionRepository;
+
+  @Test
+  @DisplayName("Should claim an idempotency key once per wallet and type")
+  void createIfAbsent() {
+    UUID walletId = walletRepository.save(new Wallet(UUID.randomUUID(), "BRL")).getId();
+    UUID destinationId = walletRepository.save(new Wallet(UUID.randomUUID(), "BRL")).getId();
+
+    var deposit = transaction(walletId, null, Type.DEPOSIT, Status.PROCESSED);
+
+    assertTrue(transactionRepository.createIfAbsent(deposit));
+    assertFalse(
+        transactionRepository.createIfAbsent(
+            transaction(walletId, null, Type.DEPOSIT, Status.PROCESSED)));
+    assertTrue(
+        transactionRepository.createIfAbsent(
+            transaction(walletId, destinationId, Type.TRANSFER, Status.PENDING)));
+    assertEquals(
+        deposit.getId(),
+        transactionRepository
+            .findByWalletIdAndIdempotencyIdAndType(walletId, "idem", Type.DEPOSIT)
+            .orElseThrow()
+            .getId());
+  }
+
+  @Test
+  @DisplayName("Should skip the insert when the wallet does not exist")
+  void skipMissingWallet() {
+    assertFalse(
+        transactionRepository.createIfAbsent(
+            transaction(UUID.randomUUID(), null, Type.DEPOSIT, Status.PROCESSED)));
+  }
+
+  private Transaction transaction(UUID walletId, UUID destinationId, Type type, Status status) {
+    return new Transaction(
+        generate(),
+        walletId,
+        destinationId,
+        "idem",
+        BigDecimal.TEN,
+        type,
+        status,
+        OffsetDateTime.now(),
+        OffsetDateTime.now());
+  }
+}
@@ -0,0 +1,93 @@
+package br.com.recargapay.wallet.integration;
+
+import static br.com.recargapay.wallet.infrastructure.common.UUIDGenerator.generate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import br.com.recargapay.wallet.domain.transaction.model.Status;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryCursor;
+import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import br.com.recargapay.wallet.support.IntegrationTest;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class TransactionHistoryIntegrationTest extends IntegrationTest {
+
+  @Autowired private WalletRepository walletRepository;
+  @Autowired private TransactionRepository transactionRepository;
+
+  @Test
+  @DisplayName(
+      "Should page through the wallet history, incoming transfers included, newest first in"
+          + " (created_at, id) order")
+  void pageWalletHistory() {
+    UUID walletId = walletRepository.save(new Wallet(UUID.randomUUID(), "BRL")).getId();
+    UUID otherWalletId = walletRepository.save(new Wallet(UUID.randomUUID(), "BRL")).getId();
+    var now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    var expected = new ArrayList<Transaction>();
+    for (int i = 0; i < 5; i++) {
+      // Two deposits share each timestamp, so the id breaks the tie.
+      var deposit = deposit(walletId, "deposit-" + i, now.minusSeconds(i / 2));
+      transactionRepository.create(deposit);
+      expected.add(deposit);
+    }
+    var incoming =
+        transaction(otherWalletId, walletId, Type.TRANSFER, "incoming", now.minusSeconds(1));
+    var outgoing =
+        transaction(walletId, otherWalletId, Type.TRANSFER, "outgoing", now.minusSeconds(3));
+    transactionRepository.create(incoming);
+    transactionRepository.create(outgoing);
+    expected.add(incoming);
+    expected.add(outgoing);
+    transactionRepository.create(deposit(otherWalletId, "other", now));
+    expected.sort(
+        (a, b) -> {
+          var byCreatedAt = b.getCreatedAt().compareTo(a.getCreatedAt());
+          return byCreatedAt != 0
+              ? byCreatedAt
+              : b.getId().toString().compareTo(a.getId().toString());
+        });
+
+    var cursor = TransactionHistoryCursor.start();
+    var listed = new ArrayList<String>();
+    List<Transaction> page;
+    do {
+      page = transactionRepository.findByWalletIdBefore(walletId, cursor, 2);
+      page.forEach(transaction -> listed.add(transaction.getIdempotencyId()));
+      if (!page.isEmpty()) {
+        cursor = TransactionHistoryCursor.after(page.getLast());
+      }
+    } while (page.size() == 2);
+
+    assertEquals(expected.stream().map(Transaction::getIdempotencyId).toList(), listed);
+  }
+
+  private Transaction deposit(UUID walletId, String idempotencyId, OffsetDateTime at) {
+    return transaction(walletId, null, Type.DEPOSIT, idempotencyId, at);
+  }
+
+  private Transaction transaction(
+      UUID walletId, UUID destinationId, Type type, String idempotencyId, OffsetDateTime at) {
+    return new Transaction(
+        generate(),
+        walletId,
+        destinationId,
+        idempotencyId,
+        BigDecimal.TEN,
+        type,
+        Status.PROCESSED,
+        at,
+        at);
+  }
+}
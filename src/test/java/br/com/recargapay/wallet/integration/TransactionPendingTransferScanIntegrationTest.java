@@ -0,0 +1,84 @@
+package br.com.recargapay.wallet.integration;
+
+import static br.com.recargapay.wallet.infrastructure.common.UUIDGenerator.generate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import br.com.recargapay.wallet.domain.transaction.model.Status;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.PendingTransferCursor;
+import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import br.com.recargapay.wallet.support.IntegrationTest;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class TransactionPendingTransferScanIntegrationTest extends IntegrationTest {
+
+  @Autowired private WalletRepository walletRepository;
+  @Autowired private TransactionRepository transactionRepository;
+
+  @Test
+  @DisplayName("Should page through stale pending transfers in (updated_at, id) order")
+  void scanStalePendingTransfers() {
+    UUID originId = walletRepository.save(new Wallet(UUID.randomUUID(), "BRL")).getId();
+    UUID destinationId = walletRepository.save(new Wallet(UUID.randomUUID(), "BRL")).getId();
+    var now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    var stale = now.minusHours(1);
+
+    for (int i = 0; i < 5; i++) {
+      // Two transfers share each timestamp, so the id breaks the tie.
+      transactionRepository.create(
+          transfer(
+              originId, destinationId, "stale-" + i, Status.PENDING, stale.plusSeconds(i / 2)));
+    }
+    transactionRepository.create(transfer(originId, destinationId, "fresh", Status.PENDING, now));
+    transactionRepository.create(
+        transfer(originId, destinationId, "done", Status.PROCESSED, stale));
+
+    var cursor = PendingTransferCursor.start();
+    var scanned = new ArrayList<Transaction>();
+    List<Transaction> page;
+    do {
+      page =
+          transactionRepository.findPendingTransfersUpdatedBefore(now.minusMinutes(5), cursor, 2);
+      scanned.addAll(page);
+      if (!page.isEmpty()) {
+        cursor = PendingTransferCursor.after(page.getLast());
+      }
+    } while (page.size() == 2);
+
+    assertEquals(
+        Set.of("stale-0", "stale-1", "stale-2", "stale-3", "stale-4"),
+        scanned.stream().map(Transaction::getIdempotencyId).collect(Collectors.toSet()));
+    assertEquals(5, scanned.size());
+    for (int i = 1; i < scanned.size(); i++) {
+      assertFalse(scanned.get(i).getUpdatedAt().isBefore(scanned.get(i - 1).getUpdatedAt()));
+    }
+  }
+
+  private Transaction transfer(
+      UUID originId, UUID destinationId, String idempotencyId, Status status, OffsetDateTime at) {
+    return new Transaction(
+        generate(),
+        originId,
+        destinationId,
+        idempotencyId,
+        BigDecimal.TEN,
+        Type.TRANSFER,
+        status,
+        at,
+        at);
+  }
+}
@@ -0,0 +1,40 @@
+package br.com.recargapay.wallet.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import br.com.recargapay.wallet.support.IntegrationTest;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class WalletBalanceShardingIntegrationTest extends IntegrationTest {
+
+  @Autowired private WalletRepository walletRepository;
+
+  @Test
+  @DisplayName("Should keep the summed balance across shards and sweep when one shard is short")
+  void creditAndDebitAcrossShards() {
+    Wallet wallet = walletRepository.save(new Wallet(UUID.randomUUID(), "BRL"));
+    walletRepository.creditBalance(wallet.getId(), new BigDecimal("100.00"));
+
+    Wallet sharded = walletRepository.enableBalanceSharding(wallet.getId(), 4).orElseThrow();
+
+    assertTrue(sharded.isSharded());
+    assertEquals(
+        Optional.of(new BigDecimal("110.00")),
+        walletRepository.creditBalance(wallet.getId(), new BigDecimal("10.00")));
+    assertEquals(
+        Optional.of(new BigDecimal("5.00")),
+        walletRepository.debitBalance(wallet.getId(), new BigDecimal("105.00")));
+    assertTrue(walletRepository.debitBalance(wallet.getId(), BigDecimal.TEN).isEmpty());
+    assertEquals(
+        Optional.of(new BigDecimal("5.00")),
+        walletRepository.findAvailableBalanceById(wallet.getId()));
+  }
+}
@@ -0,0 +1,33 @@
+package br.com.recargapay.wallet.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import br.com.recargapay.wallet.support.IntegrationTest;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class WalletCreateIfAbsentIntegrationTest extends IntegrationTest {
+
+  @Autowired private WalletRepository walletRepository;
+
+  @Test
+  @DisplayName(
+      "Should insert the first wallet and skip duplicates for the same customer and currency")
+  void createIfAbsent() {
+    UUID customerId = UUID.randomUUID();
+
+    var created = walletRepository.createIfAbsent(new Wallet(customerId, "BRL"));
+    var duplicate = walletRepository.createIfAbsent(new Wallet(customerId, "BRL"));
+
+    assertTrue(created.isPresent());
+    assertTrue(duplicate.isEmpty());
+    assertEquals(
+        created.get().getId(),
+        walletRepository.listByCustomerIdAndCurrency(customerId, "BRL").getFirst().getId());
+  }
+}
@@ -0,0 +1,125 @@
+package br.com.recargapay.wallet.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import br.com.recargapay.wallet.application.Headers;
+import br.com.recargapay.wallet.support.LoadTest;
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+/**
+ * Drives deposits, withdrawals, transfers and balance reads, one endpoint at a time, with {@code
+ * hotWalletSkew} of the requests on the same wallet. Every request is expected to succeed, and once
+ * the transfer credits are consumed no money may have been created or lost.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class WalletLoadTest extends LoadTest {
+
+  private static final String AMOUNT = "1.00";
+  private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+  private List<Account> accounts;
+
+  @BeforeAll
+  void createAccounts() {
+    accounts = IntStream.range(0, settings.wallets()).mapToObj(this::createAccount).toList();
+    accounts.forEach(
+        a ->
+            send(
+                put(
+                    "/api/v1/deposits",
+                    a.token(),
+                    UUID.randomUUID().toString(),
+                    "{\"amount\":\"" + INITIAL_BALANCE + "\"}"),
+                200));
+  }
+
+  @Test
+  @Order(1)
+  void deposits() {
+    var stats =
+        run(
+            "PUT /deposits",
+            i ->
+                put(
+                    "/api/v1/deposits",
+                    accounts.get(pick()).token(),
+                    "deposit-" + i,
+                    "{\"amount\":\"" + AMOUNT + "\"}"));
+
+    assertEquals(0, stats.failures());
+  }
+
+  @Test
+  @Order(2)
+  void withdrawals() {
+    var stats =
+        run(
+            "PUT /withdrawals",
+            i ->
+                put(
+                    "/api/v1/withdrawals",
+                    accounts.get(pick()).token(),
+                    "withdrawal-" + i,
+                    "{\"amount\":\"" + AMOUNT + "\"}"));
+
+    assertEquals(0, stats.failures());
+  }
+
+  @Test
+  @Order(3)
+  void transfers() {
+    var stats =
+        run(
+            "PUT /transfers",
+            i -> {
+              var destination = pick();
+              var origin = (destination + 1 + i % (settings.wallets() - 1)) % settings.wallets();
+              var builder =
+                  request("/api/v1/transfers", accounts.get(origin).token(), "transfer-" + i)
+                      .PUT(
+                          HttpRequest.BodyPublishers.ofString(
+                              "{\"destinationWalletId\":\"%s\",\"amount\":\"%s\"}"
+                                  .formatted(accounts.get(destination).walletId(), AMOUNT)));
+              if (!settings.settlementMode().isBlank()) {
+                builder.header(Headers.X_SETTLEMENT_MODE, settings.settlementMode());
+              }
+              return builder.build();
+            });
+    awaitTransfersSettled(Duration.ofMinutes(2));
+
+    assertEquals(0, stats.failures());
+    assertEquals(0, sqs.dropped());
+    assertEquals(
+        0,
+        jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM transactions WHERE status = 'PENDING'", Long.class));
+    // Deposits and withdrawals moved the same total, and transfers only move money between wallets.
+    assertEquals(
+        0,
+        INITIAL_BALANCE
+            .multiply(BigDecimal.valueOf(settings.wallets()))
+            .compareTo(
+                jdbcTemplate.queryForObject("SELECT sum(balance) FROM wallets", BigDecimal.class)));
+  }
+
+  @Test
+  @Order(4)
+  void balances() {
+    var stats =
+        run(
+            "GET /wallets/balance",
+            i -> get("/api/v1/wallets/balance", accounts.get(pick()).token()));
+
+    assertEquals(0, stats.failures());
+  }
+}
@@ -70,8 +70,10 @@ public abstract class EndToEndTest {
   @AfterEach
   void cleanupDatabase() {
     try {
+      jdbcTemplate.execute("TRUNCATE TABLE outbox CASCADE");
       jdbcTemplate.execute("TRUNCATE TABLE entries CASCADE");
       jdbcTemplate.execute("TRUNCATE TABLE transactions CASCADE");
+      jdbcTemplate.execute("TRUNCATE TABLE wallet_balance_shards CASCADE");
       jdbcTemplate.execute("TRUNCATE TABLE wallets CASCADE");
       jdbcTemplate.execute("TRUNCATE TABLE customers CASCADE");
     } catch (Exception e) {
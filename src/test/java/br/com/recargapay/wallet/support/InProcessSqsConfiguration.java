@@ -0,0 +1,153 @@
+package br.com.recargapay.wallet.support;
+
+import br.com.recargapay.wallet.domain.transaction.event.TransferCreditPendingEvent;
+import br.com.recargapay.wallet.domain.wallet.service.TransferService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+/**
+ * Replaces the SQS clients with an in-process queue. Batches sent by the outbox relay are handed to
+ * {@link TransferService#processDestinationCredits} on a single consumer thread, like the {@code
+ * transfer-credit-pending} listener does with LocalStack. A batch that fails is redelivered up to
+ * {@link InProcessSqsAsyncClient#MAX_RECEIVES} times, as SQS would after the visibility timeout.
+ *
+ * <p>The bean names match {@code SqsConfiguration}, so the profile must allow bean definition
+ * overriding.
+ */
+@TestConfiguration
+public class InProcessSqsConfiguration {
+
+  @Bean
+  public InProcessSqsAsyncClient getSqsClientAsync(
+      ObjectMapper objectMapper, TransferService transferService) {
+    return new InProcessSqsAsyncClient(objectMapper, transferService);
+  }
+
+  @Bean
+  public SqsClient getSqsClient() {
+    return new SqsClient() {
+      @Override
+      public GetQueueUrlResponse getQueueUrl(GetQueueUrlRequest request) {
+        return GetQueueUrlResponse.builder()
+            .queueUrl(InProcessSqsAsyncClient.QUEUE_URL_PREFIX + request.queueName())
+            .build();
+      }
+
+      @Override
+      public String serviceName() {
+        return SERVICE_NAME;
+      }
+
+      @Override
+      public void close() {}
+    };
+  }
+
+  public static class InProcessSqsAsyncClient implements SqsAsyncClient {
+
+    static final String QUEUE_URL_PREFIX = "in-process://sqs/";
+    static final int MAX_RECEIVES = 5;
+
+    private final ObjectMapper objectMapper;
+    private final TransferService transferService;
+    private final ExecutorService consumer = Executors.newSingleThreadExecutor();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong redelivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    InProcessSqsAsyncClient(ObjectMapper objectMapper, TransferService transferService) {
+      this.objectMapper = objectMapper;
+      this.transferService = transferService;
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(
+        SendMessageBatchRequest request) {
+      var transactionIds = request.entries().stream().map(this::transactionId).toList();
+      consumer.execute(() -> consume(transactionIds));
+      return CompletableFuture.completedFuture(
+          SendMessageBatchResponse.builder()
+              .successful(
+                  request.entries().stream()
+                      .map(
+                          e ->
+                              SendMessageBatchResultEntry.builder()
+                                  .id(e.id())
+                                  .messageId(e.id())
+                                  .build())
+                      .toList())
+              .build());
+    }
+
+    /** Messages processed successfully. */
+    public long delivered() {
+      return delivered.get();
+    }
+
+    /** Messages delivered again because the batch that held them failed. */
+    public long redelivered() {
+      return redelivered.get();
+    }
+
+    /** Messages that failed {@link #MAX_RECEIVES} times and would go to a dead-letter queue. */
+    public long dropped() {
+      return dropped.get();
+    }
+
+    /** Waits until every batch sent so far has been consumed. */
+    public void awaitConsumed() {
+      CompletableFuture.runAsync(() -> {}, consumer).join();
+    }
+
+    private void consume(List<UUID> transactionIds) {
+      for (int receive = 1; receive <= MAX_RECEIVES; receive++) {
+        try {
+          transferService.processDestinationCredits(transactionIds);
+          delivered.addAndGet(transactionIds.size());
+          return;
+        } catch (RuntimeException e) {
+          if (receive < MAX_RECEIVES) {
+            redelivered.addAndGet(transactionIds.size());
+          }
+        }
+      }
+      dropped.addAndGet(transactionIds.size());
+    }
+
+    private UUID transactionId(SendMessageBatchRequestEntry entry) {
+      try {
+        return objectMapper
+            .readValue(entry.messageBody(), TransferCreditPendingEvent.class)
+            .transactionId();
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException("Unexpected message body: " + entry.messageBody(), e);
+      }
+    }
+
+    @Override
+    public String serviceName() {
+      return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+      consumer.shutdown();
+    }
+  }
+}
@@ -0,0 +1,387 @@
+package br.com.recargapay.wallet.support;
+
+import br.com.recargapay.wallet.application.Headers;
+import br.com.recargapay.wallet.support.InProcessSqsConfiguration.InProcessSqsAsyncClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Base class for load tests. Full Spring context on a random port, driven over HTTP by {@code
+ * concurrency} client threads, against the docker-compose PostgreSQL and Redis and an in-process
+ * SQS ({@link InProcessSqsConfiguration}).
+ *
+ * <p>Each {@link #run} issues {@code requests} requests and records, for the endpoint, the latency
+ * percentiles, the final status codes, the client retries (5xx and I/O errors are retried with the
+ * same idempotency id) and the deadlocks PostgreSQL reported meanwhile. The report is printed and
+ * written to {@code target/load-test-report.txt} after the class.
+ *
+ * <p>Tag: {@code load}, excluded from the default test run. Profile: {@code load}. Settings are
+ * read from system properties, see {@link Settings}.
+ */
+@Tag("load")
+@ActiveProfiles("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(InProcessSqsConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public abstract class LoadTest {
+
+  private static final int MAX_ATTEMPTS = 3;
+  private static final Path REPORT = Path.of("target", "load-test-report.txt");
+
+  /**
+   * PostgreSQL backends flush their statistics at most every few seconds while busy, so deadlock
+   * counts are read after waiting for them to go idle.
+   */
+  private static final Duration STATISTICS_FLUSH = Duration.ofSeconds(11);
+
+  protected final Settings settings = Settings.fromSystemProperties();
+
+  @Autowired protected JdbcTemplate jdbcTemplate;
+  @Autowired protected ObjectMapper objectMapper;
+  @Autowired protected InProcessSqsAsyncClient sqs;
+
+  @Value("${local.server.port}")
+  private int port;
+
+  private final HttpClient httpClient =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+  private final Map<String, EndpointStats> results = new ConcurrentHashMap<>();
+
+  /**
+   * Load settings.
+   *
+   * @param concurrency client threads, {@code -Dload.concurrency}
+   * @param requests requests per endpoint, {@code -Dload.requests}
+   * @param wallets customers, one wallet each, {@code -Dload.wallets}
+   * @param hotWalletSkew share of the requests that target the first wallet, {@code
+   *     -Dload.hot-wallet-skew}
+   * @param settlementMode {@code X-Settlement-Mode} sent on transfers, {@code
+   *     -Dload.settlement-mode}; the application default when blank
+   */
+  public record Settings(
+      int concurrency, int requests, int wallets, double hotWalletSkew, String settlementMode) {
+
+    static Settings fromSystemProperties() {
+      return new Settings(
+          Integer.getInteger("load.concurrency", 32),
+          Integer.getInteger("load.requests", 2000),
+          Math.max(2, Integer.getInteger("load.wallets", 20)),
+          Double.parseDouble(System.getProperty("load.hot-wallet-skew", "0.5")),
+          System.getProperty("load.settlement-mode", ""));
+    }
+  }
+
+  public record Account(String token, UUID walletId) {}
+
+  /** Picks an account index: the hot one with probability {@code hotWalletSkew}. */
+  protected int pick() {
+    var random = ThreadLocalRandom.current();
+    return random.nextDouble() < settings.hotWalletSkew()
+        ? 0
+        : 1 + random.nextInt(settings.wallets() - 1);
+  }
+
+  protected Account createAccount(int index) {
+    var email = "load-%d-%s@wallet.test".formatted(index, UUID.randomUUID());
+    var password = "Load@12345";
+    send(
+        post(
+            "/api/v1/customers",
+            null,
+            "{\"fullName\":\"Load Customer %d\",\"email\":\"%s\",\"password\":\"%s\"}"
+                .formatted(index, email, password)),
+        201);
+    var token =
+        json(send(
+                post(
+                    "/api/v1/authentication",
+                    null,
+                    "{\"email\":\"%s\",\"password\":\"%s\"}".formatted(email, password)),
+                200))
+            .get("accessToken")
+            .asText();
+    var walletId =
+        json(send(put("/api/v1/wallets", token, null, "{\"currency\":\"BRL\"}"), 201))
+            .get("id")
+            .asText();
+    return new Account(token, UUID.fromString(walletId));
+  }
+
+  protected HttpRequest get(String path, String token) {
+    return request(path, token, null).GET().build();
+  }
+
+  protected HttpRequest post(String path, String token, String body) {
+    return request(path, token, null).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+  }
+
+  protected HttpRequest put(String path, String token, String idempotencyId, String body) {
+    return request(path, token, idempotencyId)
+        .PUT(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  protected HttpRequest.Builder request(String path, String token, String idempotencyId) {
+    var builder =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json");
+    if (token != null) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+    if (idempotencyId != null) {
+      builder.header(Headers.X_IDEMPOTENCY_ID, idempotencyId);
+    }
+    return builder;
+  }
+
+  /**
+   * Sends {@code settings.requests()} requests built by {@code request} from {@code
+   * settings.concurrency()} threads and records them under {@code endpoint}.
+   */
+  protected EndpointStats run(String endpoint, IntFunction<HttpRequest> request) {
+    var stats = new EndpointStats(endpoint);
+    var deadlocksBefore = deadlocks();
+    var next = new AtomicInteger();
+    var start = System.nanoTime();
+    try (ExecutorService clients = Executors.newFixedThreadPool(settings.concurrency())) {
+      for (int t = 0; t < settings.concurrency(); t++) {
+        clients.execute(
+            () -> {
+              for (int i = next.getAndIncrement();
+                  i < settings.requests();
+                  i = next.getAndIncrement()) {
+                sendWithRetries(request.apply(i), stats);
+              }
+            });
+      }
+    }
+    stats.elapsedNanos = System.nanoTime() - start;
+    sleep(STATISTICS_FLUSH);
+    stats.deadlocks = deadlocks() - deadlocksBefore;
+    results.put(endpoint, stats);
+    return stats;
+  }
+
+  private void sendWithRetries(HttpRequest request, EndpointStats stats) {
+    var start = System.nanoTime();
+    var status = 0;
+    for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+      if (attempt > 1) {
+        stats.retries.increment();
+      }
+      try {
+        status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status < 500) {
+          break;
+        }
+      } catch (IOException e) {
+        status = -1;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        status = -1;
+        break;
+      }
+    }
+    stats.record(status, System.nanoTime() - start);
+  }
+
+  protected String send(HttpRequest request, int expectedStatus) {
+    try {
+      var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != expectedStatus) {
+        throw new IllegalStateException(
+            "%s %s returned %d: %s"
+                .formatted(
+                    request.method(), request.uri(), response.statusCode(), response.body()));
+      }
+      return response.body();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  protected JsonNode json(String body) {
+    try {
+      return objectMapper.readTree(body);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Waits until the outbox is relayed and every transfer credit is consumed. */
+  protected void awaitTransfersSettled(Duration timeout) {
+    var deadline = System.nanoTime() + timeout.toNanos();
+    while (System.nanoTime() < deadline) {
+      sqs.awaitConsumed();
+      var outbox = jdbcTemplate.queryForObject("SELECT count(*) FROM outbox", Long.class);
+      if (outbox == 0) {
+        sqs.awaitConsumed();
+        return;
+      }
+      sleep(Duration.ofMillis(200));
+    }
+  }
+
+  private long deadlocks() {
+    var deadlocks =
+        jdbcTemplate.queryForObject(
+            "SELECT deadlocks FROM pg_stat_database WHERE datname = current_database()",
+            Long.class);
+    return deadlocks == null ? 0 : deadlocks;
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @AfterAll
+  void report() throws IOException {
+    var lines = new ArrayList<String>();
+    lines.add(
+        "%s concurrency=%d requests=%d wallets=%d hot-wallet-skew=%.2f settlement-mode=%s"
+            .formatted(
+                getClass().getSimpleName(),
+                settings.concurrency(),
+                settings.requests(),
+                settings.wallets(),
+                settings.hotWalletSkew(),
+                settings.settlementMode().isBlank() ? "default" : settings.settlementMode()));
+    lines.add(
+        "%-22s %8s %8s %8s %8s %8s %8s %9s %8s  %s"
+            .formatted(
+                "endpoint",
+                "req/s",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "max ms",
+                "retries",
+                "deadlocks",
+                "failures",
+                "statuses"));
+    results.values().stream().map(EndpointStats::toString).sorted().forEach(lines::add);
+    lines.add(
+        "in-process sqs: delivered=%d redelivered=%d dropped=%d"
+            .formatted(sqs.delivered(), sqs.redelivered(), sqs.dropped()));
+
+    lines.forEach(System.out::println);
+    Files.createDirectories(REPORT.getParent());
+    Files.write(REPORT, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+
+  @AfterAll
+  void cleanupDatabase() {
+    try {
+      jdbcTemplate.execute("TRUNCATE TABLE outbox CASCADE");
+      jdbcTemplate.execute("TRUNCATE TABLE entries CASCADE");
+      jdbcTemplate.execute("TRUNCATE TABLE transactions CASCADE");
+      jdbcTemplate.execute("TRUNCATE TABLE wallet_balance_shards CASCADE");
+      jdbcTemplate.execute("TRUNCATE TABLE wallets CASCADE");
+      jdbcTemplate.execute("TRUNCATE TABLE customers CASCADE");
+    } catch (Exception e) {
+      System.err.println("Database cleanup failed: " + e.getMessage());
+    }
+  }
+
+  /** Results of one endpoint. Latencies include client retries. */
+  public static class EndpointStats {
+    private final String endpoint;
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder retries = new LongAdder();
+    private long elapsedNanos;
+    private long deadlocks;
+
+    EndpointStats(String endpoint) {
+      this.endpoint = endpoint;
+    }
+
+    void record(int status, long latencyNanos) {
+      latencies.add(latencyNanos);
+      statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /** Requests that did not end with a 2xx, after retries. */
+    public long failures() {
+      return statuses.entrySet().stream()
+          .filter(e -> e.getKey() < 200 || e.getKey() >= 300)
+          .mapToLong(e -> e.getValue().sum())
+          .sum();
+    }
+
+    public long retries() {
+      return retries.sum();
+    }
+
+    public long deadlocks() {
+      return deadlocks;
+    }
+
+    @Override
+    public String toString() {
+      var sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+      return "%-22s %8.0f %8.2f %8.2f %8.2f %8.2f %8d %9d %8d  %s"
+          .formatted(
+              endpoint,
+              sorted.length / (elapsedNanos / 1e9),
+              millis(sorted, 0.50),
+              millis(sorted, 0.90),
+              millis(sorted, 0.99),
+              millis(sorted, 1.0),
+              retries(),
+              deadlocks,
+              failures(),
+              new TreeMap<>(statuses));
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      var index = (int) Math.ceil(percentile * sorted.length) - 1;
+      return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(0, index)]) / 1000.0;
+    }
+  }
+}
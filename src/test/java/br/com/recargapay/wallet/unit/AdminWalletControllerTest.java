@@ -0,0 +1,70 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import br.com.recargapay.wallet.application.controller.AdminWalletController;
+import br.com.recargapay.wallet.application.definitions.BalanceShardsRequest;
+import br.com.recargapay.wallet.application.definitions.HotWalletRequest;
+import br.com.recargapay.wallet.domain.wallet.exception.WalletNotFoundException;
+import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.service.WalletService;
+import br.com.recargapay.wallet.support.UnitTest;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+
+class AdminWalletControllerTest extends UnitTest {
+
+  @Mock private WalletService walletService;
+
+  private AdminWalletController adminWalletController;
+
+  @BeforeEach
+  void setup() {
+    adminWalletController = new AdminWalletController(walletService);
+  }
+
+  @Test
+  @DisplayName("Should mark the wallet as hot")
+  void setHot() {
+    UUID walletId = UUID.randomUUID();
+
+    var response = adminWalletController.setHot(walletId, new HotWalletRequest(true));
+
+    assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    verify(walletService).setHotWallet(walletId, true);
+  }
+
+  @Test
+  @DisplayName("Should propagate a missing wallet so it maps to 404")
+  void setHotMissingWallet() {
+    UUID walletId = UUID.randomUUID();
+    doThrow(new WalletNotFoundException(walletId))
+        .when(walletService)
+        .setHotWallet(walletId, false);
+
+    assertThrows(
+        WalletNotFoundException.class,
+        () -> adminWalletController.setHot(walletId, new HotWalletRequest(false)));
+  }
+
+  @Test
+  @DisplayName("Should shard the wallet balance and return the new settings")
+  void enableBalanceSharding() {
+    Wallet wallet = new Wallet(UUID.randomUUID(), "BRL");
+    wallet.shard(8);
+    when(walletService.enableBalanceSharding(wallet.getId(), 8)).thenReturn(wallet);
+
+    var response =
+        adminWalletController.enableBalanceSharding(wallet.getId(), new BalanceShardsRequest(8));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(wallet.getId(), response.getBody().id());
+    assertEquals(8, response.getBody().balanceShards());
+  }
+}
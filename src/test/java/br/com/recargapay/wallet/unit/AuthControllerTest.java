@@ -1,22 +1,29 @@
 package br.com.recargapay.wallet.unit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import br.com.recargapay.wallet.application.controller.auth.AuthController;
+import br.com.recargapay.wallet.application.definitions.auth.ClientTokenRequest;
 import br.com.recargapay.wallet.application.definitions.auth.RegisterRequest;
 import br.com.recargapay.wallet.domain.customer.model.Customer;
 import br.com.recargapay.wallet.domain.customer.repository.CustomerRepository;
 import br.com.recargapay.wallet.support.UnitTest;
+import java.time.Instant;
+import java.util.Map;
 import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 
 class AuthControllerTest extends UnitTest {
 
@@ -24,7 +31,20 @@ class AuthControllerTest extends UnitTest {
   @Mock private PasswordEncoder passwordEncoder;
   @Mock private JwtEncoder jwtEncoder;
 
-  @InjectMocks private AuthController authController;
+  private AuthController authController;
+
+  @BeforeEach
+  void setup() {
+    authController =
+        new AuthController(
+            customerRepository,
+            passwordEncoder,
+            jwtEncoder,
+            "bulk-client",
+            "secretHash",
+            "admin-client",
+            "adminSecretHash");
+  }
 
   @Test
   @DisplayName("Should register customer successfully")
@@ -53,4 +73,76 @@ class AuthControllerTest extends UnitTest {
     assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
     verify(customerRepository, never()).save(any(Customer.class));
   }
+
+  @Test
+  @DisplayName("Should issue a wallet:bulk token to the configured service client")
+  void issueBulkClientToken() {
+    when(passwordEncoder.matches("secret", "secretHash")).thenReturn(true);
+    var parameters = ArgumentCaptor.forClass(JwtEncoderParameters.class);
+    when(jwtEncoder.encode(parameters.capture()))
+        .thenReturn(
+            new Jwt(
+                "token",
+                Instant.now(),
+                Instant.now().plusSeconds(60),
+                Map.of("alg", "RS256"),
+                Map.of("sub", "bulk-client")));
+
+    var response =
+        authController.authenticateClient(new ClientTokenRequest("bulk-client", "secret"));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("token", response.getBody().accessToken());
+    assertEquals("wallet:bulk", parameters.getValue().getClaims().getClaim("scope"));
+    assertEquals("bulk-client", parameters.getValue().getClaims().getSubject());
+  }
+
+  @Test
+  @DisplayName("Should issue a wallet:admin token to the configured admin client")
+  void issueAdminClientToken() {
+    when(passwordEncoder.matches("secret", "adminSecretHash")).thenReturn(true);
+    var parameters = ArgumentCaptor.forClass(JwtEncoderParameters.class);
+    when(jwtEncoder.encode(parameters.capture()))
+        .thenReturn(
+            new Jwt(
+                "token",
+                Instant.now(),
+                Instant.now().plusSeconds(60),
+                Map.of("alg", "RS256"),
+                Map.of("sub", "admin-client")));
+
+    var response =
+        authController.authenticateClient(new ClientTokenRequest("admin-client", "secret"));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("wallet:admin", parameters.getValue().getClaims().getClaim("scope"));
+    assertEquals("admin-client", parameters.getValue().getClaims().getSubject());
+  }
+
+  @Test
+  @DisplayName("Should reject an unknown client or a wrong secret")
+  void rejectInvalidClient() {
+    when(passwordEncoder.matches("wrong", "secretHash")).thenReturn(false);
+
+    var unknown = authController.authenticateClient(new ClientTokenRequest("other", "secret"));
+    var wrongSecret =
+        authController.authenticateClient(new ClientTokenRequest("bulk-client", "wrong"));
+
+    assertEquals(HttpStatus.UNAUTHORIZED, unknown.getStatusCode());
+    assertEquals(HttpStatus.UNAUTHORIZED, wrongSecret.getStatusCode());
+    assertNull(wrongSecret.getBody());
+    verify(jwtEncoder, never()).encode(any());
+  }
+
+  @Test
+  @DisplayName("Should reject every client when none is configured")
+  void rejectWhenNoClientConfigured() {
+    var controller =
+        new AuthController(customerRepository, passwordEncoder, jwtEncoder, "", "", "", "");
+
+    var response = controller.authenticateClient(new ClientTokenRequest("", "secret"));
+
+    assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+    verifyNoInteractions(passwordEncoder, jwtEncoder);
+  }
 }
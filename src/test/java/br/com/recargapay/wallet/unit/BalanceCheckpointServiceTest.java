@@ -0,0 +1,73 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
+import br.com.recargapay.wallet.domain.wallet.exception.WalletNotFoundException;
+import br.com.recargapay.wallet.domain.wallet.model.BalanceCheckpoint;
+import br.com.recargapay.wallet.domain.wallet.repository.BalanceCheckpointRepository;
+import br.com.recargapay.wallet.domain.wallet.service.BalanceCheckpointService;
+import br.com.recargapay.wallet.domain.wallet.service.WalletService;
+import br.com.recargapay.wallet.support.UnitTest;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+class BalanceCheckpointServiceTest extends UnitTest {
+
+  @Mock private WalletService walletService;
+  @Mock private EntryRepository entryRepository;
+  @Mock private BalanceCheckpointRepository balanceCheckpointRepository;
+
+  @InjectMocks private BalanceCheckpointService balanceCheckpointService;
+
+  @Test
+  @DisplayName("Should create checkpoints for wallets with entries in the period")
+  void createCheckpoints() {
+    UUID walletId = UUID.randomUUID();
+    OffsetDateTime cutoff = OffsetDateTime.of(2026, 10, 18, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    when(entryRepository.findWalletIdsWithEntriesBetween(cutoff.minusDays(1), cutoff))
+        .thenReturn(List.of(walletId));
+    when(walletService.retrieveHistoricalBalance(walletId, cutoff))
+        .thenReturn(new BigDecimal("150.00"));
+
+    int created = balanceCheckpointService.createCheckpoints(cutoff, Duration.ofDays(1));
+
+    ArgumentCaptor<BalanceCheckpoint> captor = ArgumentCaptor.forClass(BalanceCheckpoint.class);
+    verify(balanceCheckpointRepository).create(captor.capture());
+    assertEquals(1, created);
+    assertEquals(walletId, captor.getValue().getWalletId());
+    assertEquals(new BigDecimal("150.00"), captor.getValue().getBalance());
+    assertEquals(cutoff, captor.getValue().getCheckpointAt());
+  }
+
+  @Test
+  @DisplayName("Should keep creating checkpoints when one wallet fails")
+  void continueOnFailure() {
+    UUID failing = UUID.randomUUID();
+    UUID walletId = UUID.randomUUID();
+    OffsetDateTime cutoff = OffsetDateTime.of(2026, 10, 18, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    when(entryRepository.findWalletIdsWithEntriesBetween(any(), any()))
+        .thenReturn(List.of(failing, walletId));
+    when(walletService.retrieveHistoricalBalance(failing, cutoff))
+        .thenThrow(new WalletNotFoundException("Wallet not found"));
+    when(walletService.retrieveHistoricalBalance(walletId, cutoff)).thenReturn(BigDecimal.TEN);
+
+    int created = balanceCheckpointService.createCheckpoints(cutoff, Duration.ofDays(1));
+
+    assertEquals(1, created);
+    verify(balanceCheckpointRepository, times(1)).create(any());
+  }
+}
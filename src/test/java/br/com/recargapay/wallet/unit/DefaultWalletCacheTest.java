@@ -0,0 +1,68 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import br.com.recargapay.wallet.infrastructure.cache.DefaultWalletCache;
+import br.com.recargapay.wallet.support.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DefaultWalletCacheTest extends UnitTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private DefaultWalletCache defaultWalletCache;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    defaultWalletCache = new DefaultWalletCache(meterRegistry, 100, Duration.ofMinutes(10));
+  }
+
+  @Test
+  @DisplayName("Should load the default wallet once and record hits and misses")
+  void cacheDefaultWallet() {
+    UUID customerId = UUID.randomUUID();
+    UUID walletId = UUID.randomUUID();
+    var loads = new AtomicInteger();
+
+    defaultWalletCache.get(customerId, id -> load(loads, walletId));
+    var cached = defaultWalletCache.get(customerId, id -> load(loads, walletId));
+
+    assertEquals(walletId, cached);
+    assertEquals(1, loads.get());
+    assertEquals(1.0, cacheGets("hit"));
+    assertEquals(1.0, cacheGets("miss"));
+  }
+
+  @Test
+  @DisplayName("Should reload the default wallet after invalidation")
+  void reloadAfterInvalidate() {
+    UUID customerId = UUID.randomUUID();
+    var loads = new AtomicInteger();
+
+    defaultWalletCache.get(customerId, id -> load(loads, UUID.randomUUID()));
+    defaultWalletCache.invalidate(customerId);
+    defaultWalletCache.get(customerId, id -> load(loads, UUID.randomUUID()));
+
+    assertEquals(2, loads.get());
+  }
+
+  private static UUID load(AtomicInteger loads, UUID walletId) {
+    loads.incrementAndGet();
+    return walletId;
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", "wallet.default-wallet")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
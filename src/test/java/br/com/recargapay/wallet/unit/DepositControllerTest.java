@@ -0,0 +1,79 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.recargapay.wallet.application.controller.DepositController;
+import br.com.recargapay.wallet.application.definitions.DepositRequest;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionResult;
+import br.com.recargapay.wallet.domain.wallet.service.DepositService;
+import br.com.recargapay.wallet.domain.wallet.service.WalletService;
+import br.com.recargapay.wallet.infrastructure.common.Either;
+import br.com.recargapay.wallet.infrastructure.idempotency.IdempotencyResponseStore;
+import br.com.recargapay.wallet.infrastructure.security.SecurityService;
+import br.com.recargapay.wallet.support.UnitTest;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+
+class DepositControllerTest extends UnitTest {
+
+  private static final String IDEMPOTENCY_ID = "idem-123";
+
+  @Mock private DepositService depositService;
+  @Mock private WalletService walletService;
+  @Mock private SecurityService securityService;
+  @Mock private IdempotencyResponseStore idempotencyResponseStore;
+
+  private DepositController depositController;
+  private UUID walletId;
+
+  @BeforeEach
+  void setup() {
+    depositController =
+        new DepositController(
+            depositService, walletService, securityService, idempotencyResponseStore);
+    UUID customerId = UUID.randomUUID();
+    walletId = UUID.randomUUID();
+    when(securityService.getAuthenticatedCustomerId()).thenReturn(customerId);
+    when(walletService.retrieveDefaultWalletId(customerId)).thenReturn(walletId);
+    when(idempotencyResponseStore.find(walletId, Type.DEPOSIT, IDEMPOTENCY_ID))
+        .thenReturn(Optional.empty());
+  }
+
+  @Test
+  @DisplayName("Should store the response of a new deposit")
+  void storeNewDeposit() {
+    when(depositService.deposit(walletId, BigDecimal.TEN, IDEMPOTENCY_ID))
+        .thenReturn(
+            Either.right(new TransactionResult(mock(Transaction.class), new BigDecimal("110"))));
+
+    var response = depositController.deposit(IDEMPOTENCY_ID, new DepositRequest(BigDecimal.TEN));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    verify(idempotencyResponseStore)
+        .save(eq(walletId), eq(Type.DEPOSIT), eq(IDEMPOTENCY_ID), any());
+  }
+
+  @Test
+  @DisplayName("Should not store a replay rebuilt with the current balance")
+  void skipStoringReplay() {
+    when(depositService.deposit(walletId, BigDecimal.TEN, IDEMPOTENCY_ID))
+        .thenReturn(
+            Either.right(
+                TransactionResult.replayed(mock(Transaction.class), new BigDecimal("40"))));
+
+    var response = depositController.deposit(IDEMPOTENCY_ID, new DepositRequest(BigDecimal.TEN));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    verify(idempotencyResponseStore, never()).save(any(), any(), any(), any());
+  }
+}
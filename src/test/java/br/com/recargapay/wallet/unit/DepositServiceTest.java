@@ -3,16 +3,24 @@ package br.com.recargapay.wallet.unit;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import br.com.recargapay.wallet.domain.transaction.model.Status;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
 import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
 import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.BulkItem;
 import br.com.recargapay.wallet.domain.wallet.exception.WalletErrorCode;
-import br.com.recargapay.wallet.domain.wallet.model.Wallet;
 import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
 import br.com.recargapay.wallet.domain.wallet.service.DepositService;
+import br.com.recargapay.wallet.infrastructure.metrics.WalletOperationMetrics;
 import br.com.recargapay.wallet.support.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +28,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -29,6 +39,11 @@ class DepositServiceTest extends UnitTest {
   @Mock private TransactionRepository transactionRepository;
   @Mock private EntryRepository entryRepository;
   @Mock private TransactionTemplate transactionTemplate;
+  @Mock private TransactionStatus transactionStatus;
+
+  @Spy
+  private WalletOperationMetrics operationMetrics =
+      new WalletOperationMetrics(new SimpleMeterRegistry());
 
   @InjectMocks private DepositService depositService;
 
@@ -40,7 +55,7 @@ class DepositServiceTest extends UnitTest {
         .doAnswer(
             invocation -> {
               TransactionCallback callback = invocation.getArgument(0);
-              return callback.doInTransaction(null);
+              return callback.doInTransaction(transactionStatus);
             })
         .when(transactionTemplate)
         .execute(any());
@@ -52,21 +67,24 @@ class DepositServiceTest extends UnitTest {
     UUID walletId = UUID.randomUUID();
     BigDecimal amount = new BigDecimal("100.00");
     String idempotencyId = "idem-123";
-    Wallet wallet = new Wallet(UUID.randomUUID(), "BRL");
 
-    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
-        .thenReturn(Optional.empty());
-    when(walletRepository.loadByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(true);
+    when(walletRepository.creditBalance(walletId, amount))
+        .thenReturn(Optional.of(new BigDecimal("100.00")));
 
     var result = depositService.deposit(walletId, amount, idempotencyId);
 
-    assertEquals(new BigDecimal("100.00"), wallet.getBalance());
-    verify(walletRepository).save(wallet);
-    verify(transactionRepository)
-        .create(any(br.com.recargapay.wallet.domain.transaction.model.Transaction.class));
+    assertTrue(result.isRight());
+    assertEquals(Status.PROCESSED, result.getRight().get().transaction().getStatus());
+    assertEquals(new BigDecimal("100.00"), result.getRight().get().balance());
+    verify(walletRepository).creditBalance(walletId, amount);
+    verify(walletRepository, never()).findAvailableBalanceById(any());
+    verify(walletRepository, never()).loadByIdForUpdate(any());
+    verify(transactionRepository, never())
+        .findByWalletIdAndIdempotencyIdAndType(any(), any(), any());
     verify(entryRepository)
         .create(any(br.com.recargapay.wallet.domain.transaction.model.Entry.class));
-    verify(transactionRepository).update(any());
+    verify(transactionRepository, never()).update(any());
   }
 
   @Test
@@ -75,14 +93,18 @@ class DepositServiceTest extends UnitTest {
     UUID walletId = UUID.randomUUID();
     String idempotencyId = "idem-123";
 
-    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
-        .thenReturn(
-            Optional.of(mock(br.com.recargapay.wallet.domain.transaction.model.Transaction.class)));
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(false);
+    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(
+            walletId, idempotencyId, Type.DEPOSIT))
+        .thenReturn(Optional.of(mock(Transaction.class)));
+    when(walletRepository.findAvailableBalanceById(walletId))
+        .thenReturn(Optional.of(new BigDecimal("40.00")));
 
-    depositService.deposit(walletId, BigDecimal.TEN, idempotencyId);
+    var result = depositService.deposit(walletId, BigDecimal.TEN, idempotencyId);
 
-    verify(walletRepository, never()).loadByIdForUpdate(any());
-    verify(walletRepository, never()).save(any());
+    assertEquals(new BigDecimal("40.00"), result.getRight().get().balance());
+    assertTrue(result.getRight().get().replayed());
+    verify(walletRepository, never()).creditBalance(any(), any());
   }
 
   @Test
@@ -102,12 +124,90 @@ class DepositServiceTest extends UnitTest {
   @DisplayName("Should return error if wallet does not exist")
   void throwWalletNotFound() {
     UUID walletId = UUID.randomUUID();
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(false);
     when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
         .thenReturn(Optional.empty());
-    when(walletRepository.loadByIdForUpdate(walletId)).thenReturn(Optional.empty());
 
     var result = depositService.deposit(walletId, BigDecimal.TEN, "idem");
     assertTrue(result.isLeft());
     assertEquals(WalletErrorCode.WALLET_NOT_FOUND.getCode(), result.getLeft().get().code());
+    verify(walletRepository, never()).creditBalance(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should roll back the claimed key if the wallet disappears before the credit")
+  void rollbackWhenCreditFails() {
+    UUID walletId = UUID.randomUUID();
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(true);
+    when(walletRepository.creditBalance(walletId, BigDecimal.TEN)).thenReturn(Optional.empty());
+
+    var result = depositService.deposit(walletId, BigDecimal.TEN, "idem");
+    assertTrue(result.isLeft());
+    assertEquals(WalletErrorCode.WALLET_NOT_FOUND.getCode(), result.getLeft().get().code());
+    verify(transactionStatus).setRollbackOnly();
+  }
+
+  @Test
+  @DisplayName("Should credit each wallet once per batch and return results in item order")
+  void depositAll() {
+    UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    Transaction replayed = mock(Transaction.class);
+    when(replayed.getWalletId()).thenReturn(first);
+    when(replayed.getIdempotencyId()).thenReturn("idem-old");
+    when(transactionRepository.findAllByWalletIdInAndIdempotencyIdInAndType(
+            any(), any(), eq(Type.DEPOSIT)))
+        .thenReturn(List.of(replayed));
+    when(walletRepository.creditBalance(first, new BigDecimal("30")))
+        .thenReturn(Optional.of(new BigDecimal("130")));
+    when(walletRepository.creditBalance(second, BigDecimal.ONE)).thenReturn(Optional.empty());
+    when(walletRepository.findAvailableBalanceById(first))
+        .thenReturn(Optional.of(new BigDecimal("130")));
+
+    var results =
+        depositService.depositAll(
+            List.of(
+                new BulkItem(second, BigDecimal.ONE, "idem-1"),
+                new BulkItem(first, BigDecimal.TEN, "idem-2"),
+                new BulkItem(first, BigDecimal.ZERO, "idem-3"),
+                new BulkItem(first, new BigDecimal("20"), "idem-4"),
+                new BulkItem(first, BigDecimal.TEN, "idem-old")));
+
+    assertEquals(WalletErrorCode.WALLET_NOT_FOUND.getCode(), results.get(0).getLeft().get().code());
+    assertEquals(new BigDecimal("110"), results.get(1).getRight().get().balance());
+    assertEquals(WalletErrorCode.INVALID_AMOUNT.getCode(), results.get(2).getLeft().get().code());
+    assertEquals(new BigDecimal("130"), results.get(3).getRight().get().balance());
+    assertEquals(replayed, results.get(4).getRight().get().transaction());
+    var inOrder = inOrder(walletRepository);
+    inOrder.verify(walletRepository).creditBalance(first, new BigDecimal("30"));
+    inOrder.verify(walletRepository).creditBalance(second, BigDecimal.ONE);
+    verify(transactionRepository)
+        .create(argThat((List<Transaction> transactions) -> transactions.size() == 2));
+  }
+
+  @Test
+  @DisplayName("Should reject a repeated idempotency id with a different amount in the batch")
+  void depositAllConflictingDuplicate() {
+    UUID walletId = UUID.randomUUID();
+    when(transactionRepository.findAllByWalletIdInAndIdempotencyIdInAndType(
+            any(), any(), eq(Type.DEPOSIT)))
+        .thenReturn(List.of());
+    when(walletRepository.creditBalance(walletId, BigDecimal.TEN))
+        .thenReturn(Optional.of(new BigDecimal("110")));
+
+    var results =
+        depositService.depositAll(
+            List.of(
+                new BulkItem(walletId, BigDecimal.TEN, "idem-1"),
+                new BulkItem(walletId, BigDecimal.ONE, "idem-1"),
+                new BulkItem(walletId, new BigDecimal("10.00"), "idem-1")));
+
+    var transaction = results.get(0).getRight().get().transaction();
+    assertEquals(
+        WalletErrorCode.IDEMPOTENCY_ID_CONFLICT.getCode(), results.get(1).getLeft().get().code());
+    assertEquals(transaction, results.get(2).getRight().get().transaction());
+    verify(walletRepository).creditBalance(walletId, BigDecimal.TEN);
+    verify(transactionRepository)
+        .create(argThat((List<Transaction> transactions) -> transactions.size() == 1));
   }
 }
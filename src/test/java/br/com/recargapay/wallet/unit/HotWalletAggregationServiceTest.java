@@ -0,0 +1,89 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
+import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
+import br.com.recargapay.wallet.domain.wallet.service.HotWalletAggregationService;
+import br.com.recargapay.wallet.support.UnitTest;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class HotWalletAggregationServiceTest extends UnitTest {
+
+  @Mock private EntryRepository entryRepository;
+  @Mock private WalletRepository walletRepository;
+  @Mock private TransactionTemplate transactionTemplate;
+
+  private HotWalletAggregationService hotWalletAggregationService;
+
+  @BeforeEach
+  void setup() {
+    hotWalletAggregationService =
+        new HotWalletAggregationService(
+            entryRepository, walletRepository, transactionTemplate, 100);
+    lenient()
+        .doAnswer(
+            invocation -> {
+              Consumer<TransactionStatus> callback = invocation.getArgument(0);
+              callback.accept(null);
+              return null;
+            })
+        .when(transactionTemplate)
+        .executeWithoutResult(any());
+  }
+
+  @Test
+  @DisplayName("Should fold pending credits into the stored balance once per wallet")
+  void foldPendingCredits() {
+    UUID merchantId = UUID.randomUUID();
+    when(entryRepository.findWalletIdsWithPendingFold(100)).thenReturn(List.of(merchantId));
+    when(entryRepository.foldPendingByWalletId(merchantId)).thenReturn(new BigDecimal("250.00"));
+    when(walletRepository.creditBalance(merchantId, new BigDecimal("250.00")))
+        .thenReturn(Optional.of(new BigDecimal("1250.00")));
+
+    int folded = hotWalletAggregationService.foldPendingCredits();
+
+    assertEquals(1, folded);
+    verify(walletRepository).creditBalance(merchantId, new BigDecimal("250.00"));
+  }
+
+  @Test
+  @DisplayName("Should not touch the wallet when another aggregator already folded its credits")
+  void skipAlreadyFolded() {
+    UUID merchantId = UUID.randomUUID();
+    when(entryRepository.foldPendingByWalletId(merchantId)).thenReturn(BigDecimal.ZERO);
+
+    hotWalletAggregationService.foldPendingCredits(merchantId);
+
+    verify(walletRepository, never()).creditBalance(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should keep folding other wallets when one fails")
+  void continueOnFailure() {
+    UUID failing = UUID.randomUUID();
+    UUID merchantId = UUID.randomUUID();
+    when(entryRepository.findWalletIdsWithPendingFold(100))
+        .thenReturn(List.of(failing, merchantId));
+    when(entryRepository.foldPendingByWalletId(failing)).thenThrow(new RuntimeException("boom"));
+    when(entryRepository.foldPendingByWalletId(merchantId)).thenReturn(BigDecimal.TEN);
+    when(walletRepository.creditBalance(merchantId, BigDecimal.TEN))
+        .thenReturn(Optional.of(BigDecimal.TEN));
+
+    int folded = hotWalletAggregationService.foldPendingCredits();
+
+    assertEquals(1, folded);
+  }
+}
@@ -0,0 +1,80 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+import br.com.recargapay.wallet.domain.transaction.model.Type;
+import br.com.recargapay.wallet.infrastructure.idempotency.IdempotencyResponseStore;
+import br.com.recargapay.wallet.support.UnitTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+class IdempotencyResponseStoreTest extends UnitTest {
+
+  private static final Duration TTL = Duration.ofHours(24);
+
+  @Mock private StringRedisTemplate redisTemplate;
+  @Mock private ValueOperations<String, String> valueOperations;
+
+  private IdempotencyResponseStore idempotencyResponseStore;
+
+  @BeforeEach
+  void setup() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    idempotencyResponseStore = new IdempotencyResponseStore(redisTemplate, new ObjectMapper(), TTL);
+  }
+
+  @Test
+  @DisplayName("Should store the serialized response with a TTL and serve it back")
+  void saveAndFind() {
+    UUID walletId = UUID.randomUUID();
+    String key = "wallet:idempotency:DEPOSIT:" + walletId + ":idem";
+    when(valueOperations.get(key)).thenReturn("{\"amount\":10}");
+
+    idempotencyResponseStore.save(walletId, Type.DEPOSIT, "idem", Map.of("amount", 10));
+    var replay = idempotencyResponseStore.find(walletId, Type.DEPOSIT, "idem");
+
+    verify(valueOperations).setIfAbsent(key, "{\"amount\":10}", TTL);
+    assertEquals(Optional.of("{\"amount\":10}"), replay);
+  }
+
+  @Test
+  @DisplayName("Should keep the first stored response for a key")
+  void keepFirstResponse() {
+    UUID walletId = UUID.randomUUID();
+    String key = "wallet:idempotency:TRANSFER:" + walletId + ":idem";
+    when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(true, false);
+    when(valueOperations.get(key)).thenReturn("{\"amount\":10}");
+
+    idempotencyResponseStore.save(walletId, Type.TRANSFER, "idem", Map.of("amount", 10));
+    idempotencyResponseStore.save(walletId, Type.TRANSFER, "idem", Map.of("amount", 20));
+
+    verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    assertEquals(
+        Optional.of("{\"amount\":10}"),
+        idempotencyResponseStore.find(walletId, Type.TRANSFER, "idem"));
+  }
+
+  @Test
+  @DisplayName("Should treat an unavailable Redis as a miss")
+  void missWhenRedisIsDown() {
+    when(valueOperations.get(anyString()))
+        .thenThrow(new RedisConnectionFailureException("connection refused"));
+
+    var replay = idempotencyResponseStore.find(UUID.randomUUID(), Type.WITHDRAWAL, "idem");
+
+    assertTrue(replay.isEmpty());
+  }
+}
@@ -0,0 +1,137 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import br.com.recargapay.wallet.domain.outbox.model.OutboxMessage;
+import br.com.recargapay.wallet.domain.outbox.repository.OutboxRepository;
+import br.com.recargapay.wallet.domain.outbox.service.OutboxRelayService;
+import br.com.recargapay.wallet.infrastructure.messaging.SqsPublisher;
+import br.com.recargapay.wallet.support.UnitTest;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+class OutboxRelayServiceTest extends UnitTest {
+
+  @Mock private OutboxRepository outboxRepository;
+  @Mock private SqsPublisher sqsPublisher;
+  @Mock private TransactionTemplate transactionTemplate;
+
+  private OutboxRelayService outboxRelayService;
+
+  @BeforeEach
+  void setup() {
+    outboxRelayService =
+        new OutboxRelayService(outboxRepository, sqsPublisher, transactionTemplate, 100);
+    lenient()
+        .doAnswer(
+            invocation -> {
+              TransactionCallback<?> callback = invocation.getArgument(0);
+              return callback.doInTransaction(null);
+            })
+        .when(transactionTemplate)
+        .execute(any());
+  }
+
+  @Test
+  @DisplayName("Should publish messages in batches of 10 and delete the acknowledged ones")
+  void relayInBatches() {
+    var messages = IntStream.range(0, 12).mapToObj(i -> message()).toList();
+    when(outboxRepository.lockNextBatch(100)).thenReturn(messages);
+    when(sqsPublisher.publishBatch(eq("transfer-credit-pending"), any()))
+        .thenAnswer(invocation -> acknowledgeAll(invocation.getArgument(1)));
+
+    int published = outboxRelayService.relayPending();
+
+    assertEquals(12, published);
+    verify(sqsPublisher, times(2)).publishBatch(any(), any());
+    deletedIds(12);
+  }
+
+  @Test
+  @DisplayName("Should keep failed messages in the outbox")
+  void keepFailedMessages() {
+    var ok = message();
+    var failed = message();
+    when(outboxRepository.lockNextBatch(100)).thenReturn(List.of(ok, failed));
+    when(sqsPublisher.publishBatch(any(), any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                SendMessageBatchResponse.builder()
+                    .successful(
+                        SendMessageBatchResultEntry.builder().id(ok.getId().toString()).build())
+                    .failed(
+                        BatchResultErrorEntry.builder()
+                            .id(failed.getId().toString())
+                            .message("throttled")
+                            .build())
+                    .build()));
+
+    int published = outboxRelayService.relayPending();
+
+    assertEquals(1, published);
+    assertEquals(List.of(ok.getId()), List.copyOf(deletedIds(1)));
+  }
+
+  @Test
+  @DisplayName("Should not delete anything when SQS is unavailable")
+  void keepAllOnFailure() {
+    when(outboxRepository.lockNextBatch(100)).thenReturn(List.of(message()));
+    when(sqsPublisher.publishBatch(any(), any()))
+        .thenReturn(
+            CompletableFuture.failedFuture(SqsException.builder().message("unavailable").build()));
+
+    int published = outboxRelayService.relayPending();
+
+    assertEquals(0, published);
+    verify(outboxRepository, never()).deleteAllById(any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private Collection<UUID> deletedIds(int expected) {
+    ArgumentCaptor<Collection<UUID>> captor = ArgumentCaptor.forClass(Collection.class);
+    verify(outboxRepository).deleteAllById(captor.capture());
+    assertEquals(expected, captor.getValue().size());
+    return captor.getValue();
+  }
+
+  private static CompletableFuture<SendMessageBatchResponse> acknowledgeAll(
+      List<SendMessageBatchRequestEntry> entries) {
+    return CompletableFuture.completedFuture(
+        SendMessageBatchResponse.builder()
+            .successful(
+                entries.stream()
+                    .map(e -> SendMessageBatchResultEntry.builder().id(e.id()).build())
+                    .toList())
+            .build());
+  }
+
+  private static OutboxMessage message() {
+    var id = UUID.randomUUID();
+    return new OutboxMessage(
+        UUID.randomUUID(),
+        id,
+        "TransferCreditPendingEvent",
+        "transfer-credit-pending",
+        "{\"transactionId\":\"%s\"}".formatted(id),
+        OffsetDateTime.now());
+  }
+}
@@ -0,0 +1,48 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.infrastructure.metrics.PendingTransferAgeGauge;
+import br.com.recargapay.wallet.support.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+class PendingTransferAgeGaugeTest extends UnitTest {
+
+  @Mock private TransactionRepository transactionRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    new PendingTransferAgeGauge(transactionRepository, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should report the age of the oldest pending transfer")
+  void oldestPendingTransfer() {
+    when(transactionRepository.findOldestPendingTransferCreatedAt())
+        .thenReturn(Optional.of(OffsetDateTime.now().minusSeconds(90)));
+
+    var age = meterRegistry.get("wallet.transfer.pending.oldest.age").gauge().value();
+
+    assertTrue(age >= 90 && age < 100, "age was " + age);
+  }
+
+  @Test
+  @DisplayName("Should report zero when no transfer is pending")
+  void noPendingTransfer() {
+    when(transactionRepository.findOldestPendingTransferCreatedAt()).thenReturn(Optional.empty());
+
+    assertEquals(0.0, meterRegistry.get("wallet.transfer.pending.oldest.age").gauge().value());
+  }
+}
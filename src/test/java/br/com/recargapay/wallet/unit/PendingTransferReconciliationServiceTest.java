@@ -0,0 +1,154 @@
+package br.com.recargapay.wallet.unit;
+
+import static br.com.recargapay.wallet.infrastructure.common.UUIDGenerator.generate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.recargapay.wallet.domain.transaction.model.Status;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.PendingTransferCursor;
+import br.com.recargapay.wallet.domain.wallet.exception.WalletNotFoundException;
+import br.com.recargapay.wallet.domain.wallet.service.PendingTransferReconciliationService;
+import br.com.recargapay.wallet.domain.wallet.service.TransferService;
+import br.com.recargapay.wallet.support.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+class PendingTransferReconciliationServiceTest extends UnitTest {
+
+  private static final int PAGE_SIZE = 4;
+  private static final int BATCH_SIZE = 2;
+
+  @Mock private TransactionRepository transactionRepository;
+  @Mock private TransferService transferService;
+
+  private SimpleMeterRegistry meterRegistry;
+  private PendingTransferReconciliationService reconciliationService;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    reconciliationService =
+        new PendingTransferReconciliationService(
+            transactionRepository,
+            transferService,
+            meterRegistry,
+            Duration.ofMinutes(5),
+            PAGE_SIZE,
+            BATCH_SIZE,
+            2);
+  }
+
+  @Test
+  @DisplayName("Should scan stale pending transfers page by page and credit them in batches")
+  void reconcile() {
+    var firstPage = pendingTransfers(PAGE_SIZE);
+    var secondPage = pendingTransfers(1);
+    when(transactionRepository.findPendingTransfersUpdatedBefore(
+            any(OffsetDateTime.class), eq(PendingTransferCursor.start()), eq(PAGE_SIZE)))
+        .thenReturn(firstPage);
+    when(transactionRepository.findPendingTransfersUpdatedBefore(
+            any(OffsetDateTime.class),
+            eq(PendingTransferCursor.after(firstPage.getLast())),
+            eq(PAGE_SIZE)))
+        .thenReturn(secondPage);
+
+    var reconciled = reconciliationService.reconcile();
+
+    assertEquals(5, reconciled);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<UUID>> batches = ArgumentCaptor.forClass(List.class);
+    verify(transferService, times(3)).processDestinationCredits(batches.capture());
+    batches.getAllValues().forEach(batch -> assertTrue(batch.size() <= BATCH_SIZE));
+    assertEquals(
+        Set.copyOf(
+            Stream.concat(firstPage.stream(), secondPage.stream())
+                .map(Transaction::getId)
+                .toList()),
+        Set.copyOf(batches.getAllValues().stream().flatMap(List::stream).toList()));
+    assertEquals(5.0, counter("success"));
+  }
+
+  @Test
+  @DisplayName("Should count failed batches and keep reconciling the others")
+  void reconcileWithFailures() {
+    var page = pendingTransfers(BATCH_SIZE * 2);
+    when(transactionRepository.findPendingTransfersUpdatedBefore(
+            any(OffsetDateTime.class), eq(PendingTransferCursor.start()), eq(PAGE_SIZE)))
+        .thenReturn(page);
+    doThrow(new WalletNotFoundException(UUID.randomUUID()))
+        .doNothing()
+        .when(transferService)
+        .processDestinationCredits(anyList());
+    when(transactionRepository.findPendingTransfersUpdatedBefore(
+            any(OffsetDateTime.class),
+            eq(PendingTransferCursor.after(page.getLast())),
+            eq(PAGE_SIZE)))
+        .thenReturn(List.of());
+
+    var reconciled = reconciliationService.reconcile();
+
+    assertEquals(BATCH_SIZE, reconciled);
+    assertEquals(BATCH_SIZE, counter("success"));
+    assertEquals(BATCH_SIZE, counter("failure"));
+  }
+
+  @Test
+  @DisplayName("Should do nothing when no transfer is stale")
+  void nothingToReconcile() {
+    when(transactionRepository.findPendingTransfersUpdatedBefore(
+            any(OffsetDateTime.class), eq(PendingTransferCursor.start()), eq(PAGE_SIZE)))
+        .thenReturn(List.of());
+
+    assertEquals(0, reconciliationService.reconcile());
+    verify(transferService, never()).processDestinationCredits(anyList());
+  }
+
+  private double counter(String outcome) {
+    return meterRegistry
+        .get("wallet.transfer.reconciliation")
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  private static List<Transaction> pendingTransfers(int count) {
+    var updatedAt = OffsetDateTime.now().minusHours(1);
+    return IntStream.range(0, count)
+        .mapToObj(
+            i ->
+                new Transaction(
+                    generate(),
+                    UUID.randomUUID(),
+                    UUID.randomUUID(),
+                    "idem-" + i,
+                    BigDecimal.TEN,
+                    Type.TRANSFER,
+                    Status.PENDING,
+                    updatedAt,
+                    updatedAt.plusSeconds(i)))
+        .toList();
+  }
+}
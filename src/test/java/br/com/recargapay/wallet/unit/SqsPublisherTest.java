@@ -0,0 +1,122 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import br.com.recargapay.wallet.infrastructure.messaging.SqsPublisher;
+import br.com.recargapay.wallet.infrastructure.messaging.SqsQueueUrlResolver;
+import br.com.recargapay.wallet.support.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+class SqsPublisherTest extends UnitTest {
+
+  private static final String QUEUE = "transfer-credit-pending";
+  private static final List<SendMessageBatchRequestEntry> ENTRIES =
+      List.of(
+          SendMessageBatchRequestEntry.builder().id("1").messageBody("a").build(),
+          SendMessageBatchRequestEntry.builder().id("2").messageBody("b").build());
+
+  @Mock private SqsAsyncClient sqsAsyncClient;
+  @Mock private SqsClient sqsClient;
+
+  private SimpleMeterRegistry meterRegistry;
+  private SqsPublisher sqsPublisher;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    lenient()
+        .when(sqsClient.getQueueUrl(ArgumentMatchers.<Consumer<GetQueueUrlRequest.Builder>>any()))
+        .thenReturn(GetQueueUrlResponse.builder().queueUrl("http://sqs/queue").build());
+    sqsPublisher =
+        new SqsPublisher(
+            sqsAsyncClient,
+            new SqsQueueUrlResolver(sqsClient, meterRegistry),
+            meterRegistry,
+            1,
+            10);
+  }
+
+  @Test
+  @DisplayName("Should record latency and count failed entries of a batch")
+  void recordMetrics() {
+    when(sqsAsyncClient.sendMessageBatch(
+            ArgumentMatchers.<Consumer<SendMessageBatchRequest.Builder>>any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                SendMessageBatchResponse.builder()
+                    .failed(BatchResultErrorEntry.builder().id("2").build())
+                    .build()));
+
+    sqsPublisher.publishBatch(QUEUE, ENTRIES).join();
+
+    assertEquals(
+        1,
+        meterRegistry
+            .get("wallet.sqs.publish")
+            .tag("queue", QUEUE)
+            .tag("outcome", "success")
+            .timer()
+            .count());
+    assertEquals(
+        1, meterRegistry.get("wallet.sqs.publish.failures").tag("queue", QUEUE).counter().count());
+  }
+
+  @Test
+  @DisplayName("Should count every entry as failed when the request fails")
+  void recordRequestFailure() {
+    when(sqsAsyncClient.sendMessageBatch(
+            ArgumentMatchers.<Consumer<SendMessageBatchRequest.Builder>>any()))
+        .thenReturn(CompletableFuture.failedFuture(SqsException.builder().message("down").build()));
+
+    var future = sqsPublisher.publishBatch(QUEUE, ENTRIES);
+
+    assertThrows(CompletionException.class, future::join);
+    assertEquals(
+        2, meterRegistry.get("wallet.sqs.publish.failures").tag("queue", QUEUE).counter().count());
+    assertEquals(0, meterRegistry.get("wallet.sqs.publish.in.flight").gauge().value());
+  }
+
+  @Test
+  @DisplayName("Should reject publishing when the in-flight limit is reached")
+  void rejectWhenSaturated() {
+    var pending = new CompletableFuture<SendMessageBatchResponse>();
+    when(sqsAsyncClient.sendMessageBatch(
+            ArgumentMatchers.<Consumer<SendMessageBatchRequest.Builder>>any()))
+        .thenReturn(pending);
+
+    sqsPublisher.publishBatch(QUEUE, ENTRIES);
+    var rejected = sqsPublisher.publishBatch(QUEUE, ENTRIES);
+
+    var error = assertThrows(CompletionException.class, rejected::join);
+    assertInstanceOf(RejectedExecutionException.class, error.getCause());
+    assertEquals(1, meterRegistry.get("wallet.sqs.publish.in.flight").gauge().value());
+
+    pending.complete(SendMessageBatchResponse.builder().build());
+
+    assertEquals(0, meterRegistry.get("wallet.sqs.publish.in.flight").gauge().value());
+    verify(sqsAsyncClient, times(1))
+        .sendMessageBatch(ArgumentMatchers.<Consumer<SendMessageBatchRequest.Builder>>any());
+  }
+}
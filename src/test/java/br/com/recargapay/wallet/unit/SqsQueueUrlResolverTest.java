@@ -0,0 +1,73 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import br.com.recargapay.wallet.infrastructure.messaging.SqsQueueUrlResolver;
+import br.com.recargapay.wallet.support.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+
+class SqsQueueUrlResolverTest extends UnitTest {
+
+  private static final String QUEUE = "transfer-credit-pending";
+
+  @Mock private SqsClient sqsClient;
+
+  private SimpleMeterRegistry meterRegistry;
+  private SqsQueueUrlResolver resolver;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    resolver = new SqsQueueUrlResolver(sqsClient, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should resolve the queue URL only once")
+  void resolveOnce() {
+    when(sqsClient.getQueueUrl(ArgumentMatchers.<Consumer<GetQueueUrlRequest.Builder>>any()))
+        .thenReturn(GetQueueUrlResponse.builder().queueUrl("http://sqs/queue").build());
+
+    assertEquals("http://sqs/queue", resolver.resolve(QUEUE));
+    assertEquals("http://sqs/queue", resolver.resolve(QUEUE));
+
+    verify(sqsClient, times(1))
+        .getQueueUrl(ArgumentMatchers.<Consumer<GetQueueUrlRequest.Builder>>any());
+    assertEquals(
+        1,
+        meterRegistry.get("wallet.sqs.queue.url.resolution").tag("queue", QUEUE).timer().count());
+  }
+
+  @Test
+  @DisplayName("Should refresh the queue URL and retry when the queue does not exist")
+  void refreshOnQueueDoesNotExist() {
+    when(sqsClient.getQueueUrl(ArgumentMatchers.<Consumer<GetQueueUrlRequest.Builder>>any()))
+        .thenReturn(GetQueueUrlResponse.builder().queueUrl("http://sqs/old").build())
+        .thenReturn(GetQueueUrlResponse.builder().queueUrl("http://sqs/new").build());
+
+    var result =
+        resolver.withQueueUrl(
+            QUEUE,
+            url ->
+                url.endsWith("old")
+                    ? CompletableFuture.failedFuture(
+                        QueueDoesNotExistException.builder().message("gone").build())
+                    : CompletableFuture.completedFuture(url));
+
+    assertEquals("http://sqs/new", result.join());
+    assertEquals("http://sqs/new", resolver.resolve(QUEUE));
+    assertEquals(
+        1, meterRegistry.get("wallet.sqs.queue.url.refresh").tag("queue", QUEUE).counter().count());
+  }
+}
@@ -0,0 +1,50 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import br.com.recargapay.wallet.application.definitions.TransactionHistoryResponse;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryCursor;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryPage;
+import br.com.recargapay.wallet.support.UnitTest;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TransactionHistoryResponseTest extends UnitTest {
+
+  @Test
+  @DisplayName("Should decode the cursor returned as nextCursor")
+  void roundTripCursor() {
+    var cursor =
+        new TransactionHistoryCursor(
+            OffsetDateTime.of(2026, 10, 18, 12, 0, 0, 123_456_000, ZoneOffset.UTC),
+            UUID.randomUUID());
+
+    var response = TransactionHistoryResponse.from(new TransactionHistoryPage(List.of(), cursor));
+
+    assertEquals(cursor, TransactionHistoryResponse.decodeCursor(response.nextCursor()));
+  }
+
+  @Test
+  @DisplayName("Should start from the newest transaction without a cursor")
+  void missingCursor() {
+    assertEquals(TransactionHistoryCursor.start(), TransactionHistoryResponse.decodeCursor(null));
+    assertNull(
+        TransactionHistoryResponse.from(new TransactionHistoryPage(List.of(), null)).nextCursor());
+  }
+
+  @Test
+  @DisplayName("Should reject a malformed cursor")
+  void malformedCursor() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> TransactionHistoryResponse.decodeCursor("not-a-cursor"));
+    assertThrows(
+        IllegalArgumentException.class, () -> TransactionHistoryResponse.decodeCursor("%%%"));
+  }
+}
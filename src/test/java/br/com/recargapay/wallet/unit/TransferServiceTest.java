@@ -2,25 +2,41 @@ package br.com.recargapay.wallet.unit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import br.com.recargapay.wallet.domain.transaction.exception.TransactionNotFoundException;
+import br.com.recargapay.wallet.domain.transaction.model.Entry;
+import br.com.recargapay.wallet.domain.transaction.model.SettlementMode;
+import br.com.recargapay.wallet.domain.transaction.model.Status;
 import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
 import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
 import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.TransferItem;
 import br.com.recargapay.wallet.domain.wallet.exception.WalletErrorCode;
+import br.com.recargapay.wallet.domain.wallet.model.Currency;
 import br.com.recargapay.wallet.domain.wallet.model.Wallet;
 import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
 import br.com.recargapay.wallet.domain.wallet.service.TransferService;
+import br.com.recargapay.wallet.infrastructure.metrics.WalletOperationMetrics;
 import br.com.recargapay.wallet.support.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -31,19 +47,38 @@ class TransferServiceTest extends UnitTest {
   @Mock private EntryRepository entryRepository;
   @Mock private TransactionTemplate transactionTemplate;
   @Mock private ApplicationEventPublisher applicationEventPublisher;
+  @Mock private TransactionStatus transactionStatus;
 
-  @InjectMocks private TransferService transferService;
+  private TransferService transferService;
 
   @BeforeEach
   void setup() {
+    transferService =
+        new TransferService(
+            walletRepository,
+            transactionRepository,
+            entryRepository,
+            transactionTemplate,
+            applicationEventPublisher,
+            SettlementMode.ASYNC,
+            new WalletOperationMetrics(new SimpleMeterRegistry()));
     lenient()
         .doAnswer(
             invocation -> {
               TransactionCallback<?> callback = invocation.getArgument(0);
-              return callback.doInTransaction(null);
+              return callback.doInTransaction(transactionStatus);
             })
         .when(transactionTemplate)
         .execute(any());
+    lenient()
+        .doAnswer(
+            invocation -> {
+              Consumer<TransactionStatus> callback = invocation.getArgument(0);
+              callback.accept(null);
+              return null;
+            })
+        .when(transactionTemplate)
+        .executeWithoutResult(any());
   }
 
   @Test
@@ -54,25 +89,26 @@ class TransferServiceTest extends UnitTest {
     BigDecimal amount = new BigDecimal("50.00");
 
     Wallet origin = new Wallet(originId, "BRL");
-    origin.deposit(new BigDecimal("100.00"));
     Wallet dest = new Wallet(destId, "BRL");
 
-    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
-        .thenReturn(Optional.empty());
-    when(walletRepository.loadByIdForUpdate(originId)).thenReturn(Optional.of(origin));
-    when(walletRepository.loadByIdForUpdate(destId)).thenReturn(Optional.of(dest));
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(true);
+    when(walletRepository.findById(originId)).thenReturn(Optional.of(origin));
+    when(walletRepository.findById(destId)).thenReturn(Optional.of(dest));
+    when(walletRepository.debitBalance(originId, amount))
+        .thenReturn(Optional.of(new BigDecimal("50.00")));
 
     var either = transferService.transfer(originId, destId, amount, "idem-789");
-    Transaction result = either.getRight().get();
+    Transaction result = either.getRight().get().transaction();
 
     assertEquals(originId, result.getWalletId());
     assertEquals(destId, result.getWalletDestinationId());
     assertEquals(amount, result.getAmount());
+    assertEquals(new BigDecimal("50.00"), either.getRight().get().balance());
 
-    assertEquals(new BigDecimal("50.00"), origin.getBalance());
-
-    verify(walletRepository).save(origin);
-    verify(transactionRepository).create(any(Transaction.class));
+    verify(walletRepository).debitBalance(originId, amount);
+    verify(walletRepository, never()).creditBalance(any(), any());
+    verify(transactionRepository, never())
+        .findByWalletIdAndIdempotencyIdAndType(any(), any(), any());
   }
 
   @Test
@@ -84,15 +120,15 @@ class TransferServiceTest extends UnitTest {
     Wallet origin = new Wallet(UUID.randomUUID(), "BRL");
     Wallet dest = new Wallet(UUID.randomUUID(), "USD");
 
-    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
-        .thenReturn(Optional.empty());
-    when(walletRepository.loadByIdForUpdate(originId)).thenReturn(Optional.of(origin));
-    when(walletRepository.loadByIdForUpdate(destId)).thenReturn(Optional.of(dest));
+    when(walletRepository.findById(originId)).thenReturn(Optional.of(origin));
+    when(walletRepository.findById(destId)).thenReturn(Optional.of(dest));
 
     var result = transferService.transfer(originId, destId, BigDecimal.TEN, "idem");
 
     assertTrue(result.isLeft());
     assertEquals(WalletErrorCode.CURRENCY_MISMATCH.getCode(), result.getLeft().get().code());
+    verify(walletRepository, never()).debitBalance(any(), any());
+    verify(transactionRepository, never()).createIfAbsent(any());
   }
 
   @Test
@@ -104,29 +140,220 @@ class TransferServiceTest extends UnitTest {
     Wallet origin = new Wallet(UUID.randomUUID(), "BRL"); // balance 0
     Wallet dest = new Wallet(UUID.randomUUID(), "BRL");
 
-    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
-        .thenReturn(Optional.empty());
-    when(walletRepository.loadByIdForUpdate(originId)).thenReturn(Optional.of(origin));
-    when(walletRepository.loadByIdForUpdate(destId)).thenReturn(Optional.of(dest));
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(true);
+    when(walletRepository.findById(originId)).thenReturn(Optional.of(origin));
+    when(walletRepository.findById(destId)).thenReturn(Optional.of(dest));
+    when(walletRepository.debitBalance(originId, BigDecimal.TEN)).thenReturn(Optional.empty());
 
     var result = transferService.transfer(originId, destId, BigDecimal.TEN, "idem");
 
     assertTrue(result.isLeft());
     assertEquals(WalletErrorCode.INSUFFICIENT_BALANCE.getCode(), result.getLeft().get().code());
+    verify(transactionStatus).setRollbackOnly();
   }
 
   @Test
   @DisplayName("Should skip transfer if idempotency key exists")
   void skipIfIdempotencyExists() {
+    UUID originId = UUID.randomUUID();
     Transaction existing = mock(Transaction.class);
-    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
+    when(walletRepository.findById(any()))
+        .thenReturn(Optional.of(new Wallet(UUID.randomUUID(), "BRL")));
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(false);
+    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(
+            originId, "idem", Type.TRANSFER))
         .thenReturn(Optional.of(existing));
+    when(walletRepository.findAvailableBalanceById(originId))
+        .thenReturn(Optional.of(BigDecimal.TEN));
+
+    var result = transferService.transfer(originId, UUID.randomUUID(), BigDecimal.TEN, "idem");
+
+    assertEquals(existing, result.getRight().get().transaction());
+    assertTrue(result.getRight().get().replayed());
+    verify(walletRepository, never()).debitBalance(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should debit the origin once for a batch and report each item in order")
+  void transferAll() {
+    UUID originId = UUID.randomUUID();
+    Wallet origin = new Wallet(UUID.randomUUID(), "BRL");
+    Wallet brl = new Wallet(UUID.randomUUID(), "BRL");
+    Wallet usd = new Wallet(UUID.randomUUID(), "USD");
+    Transaction replayed = mock(Transaction.class);
+    when(replayed.getIdempotencyId()).thenReturn("idem-old");
+    when(walletRepository.findById(originId)).thenReturn(Optional.of(origin));
+    when(walletRepository.findAllById(any())).thenReturn(List.of(brl, usd));
+    when(transactionRepository.findAllByWalletIdInAndIdempotencyIdInAndType(
+            eq(Set.of(originId)), any(), eq(Type.TRANSFER)))
+        .thenReturn(List.of(replayed));
+    when(walletRepository.debitBalance(originId, new BigDecimal("30")))
+        .thenReturn(Optional.of(new BigDecimal("70")));
+    when(walletRepository.findAvailableBalanceById(originId))
+        .thenReturn(Optional.of(new BigDecimal("70")));
+
+    var results =
+        transferService.transferAll(
+            originId,
+            List.of(
+                new TransferItem(brl.getId(), BigDecimal.TEN, "idem-1"),
+                new TransferItem(usd.getId(), BigDecimal.ONE, "idem-2"),
+                new TransferItem(UUID.randomUUID(), BigDecimal.ONE, "idem-3"),
+                new TransferItem(brl.getId(), new BigDecimal("20"), "idem-4"),
+                new TransferItem(originId, BigDecimal.ONE, "idem-5"),
+                new TransferItem(brl.getId(), BigDecimal.TEN, "idem-old")));
+
+    assertEquals(new BigDecimal("90"), results.get(0).getRight().get().balance());
+    assertEquals(
+        WalletErrorCode.CURRENCY_MISMATCH.getCode(), results.get(1).getLeft().get().code());
+    assertEquals(WalletErrorCode.WALLET_NOT_FOUND.getCode(), results.get(2).getLeft().get().code());
+    assertEquals(new BigDecimal("70"), results.get(3).getRight().get().balance());
+    assertEquals(
+        WalletErrorCode.SAME_WALLET_TRANSFER.getCode(), results.get(4).getLeft().get().code());
+    assertEquals(replayed, results.get(5).getRight().get().transaction());
+    verify(walletRepository).debitBalance(originId, new BigDecimal("30"));
+    verify(transactionRepository)
+        .create(argThat((List<Transaction> transactions) -> transactions.size() == 2));
+    verify(applicationEventPublisher, times(2)).publishEvent(any(Object.class));
+  }
+
+  @Test
+  @DisplayName("Should reject every new item of a batch when the origin cannot cover the total")
+  void transferAllInsufficientBalance() {
+    UUID originId = UUID.randomUUID();
+    Wallet dest = new Wallet(UUID.randomUUID(), "BRL");
+    when(walletRepository.findById(originId))
+        .thenReturn(Optional.of(new Wallet(UUID.randomUUID(), "BRL")));
+    when(walletRepository.findAllById(any())).thenReturn(List.of(dest));
+    when(transactionRepository.findAllByWalletIdInAndIdempotencyIdInAndType(any(), any(), any()))
+        .thenReturn(List.of());
+    when(walletRepository.debitBalance(originId, new BigDecimal("11")))
+        .thenReturn(Optional.empty());
+
+    var results =
+        transferService.transferAll(
+            originId,
+            List.of(
+                new TransferItem(dest.getId(), BigDecimal.TEN, "idem-1"),
+                new TransferItem(dest.getId(), BigDecimal.ONE, "idem-2")));
+
+    results.forEach(
+        result ->
+            assertEquals(
+                WalletErrorCode.INSUFFICIENT_BALANCE.getCode(), result.getLeft().get().code()));
+    verify(transactionRepository, never()).create(anyList());
+    verifyNoInteractions(applicationEventPublisher);
+  }
+
+  @Test
+  @DisplayName("Should reject an item repeating an idempotency ID with a different transfer")
+  void transferAllConflictingDuplicate() {
+    UUID originId = UUID.randomUUID();
+    Wallet first = new Wallet(UUID.randomUUID(), "BRL");
+    Wallet second = new Wallet(UUID.randomUUID(), "BRL");
+    when(walletRepository.findById(originId))
+        .thenReturn(Optional.of(new Wallet(UUID.randomUUID(), "BRL")));
+    when(walletRepository.findAllById(any())).thenReturn(List.of(first, second));
+    when(transactionRepository.findAllByWalletIdInAndIdempotencyIdInAndType(any(), any(), any()))
+        .thenReturn(List.of());
+    when(walletRepository.debitBalance(originId, BigDecimal.TEN))
+        .thenReturn(Optional.of(new BigDecimal("90")));
+
+    var results =
+        transferService.transferAll(
+            originId,
+            List.of(
+                new TransferItem(first.getId(), BigDecimal.TEN, "idem-1"),
+                new TransferItem(second.getId(), BigDecimal.TEN, "idem-1"),
+                new TransferItem(first.getId(), BigDecimal.ONE, "idem-1"),
+                new TransferItem(first.getId(), new BigDecimal("10.00"), "idem-1")));
+
+    var transaction = results.get(0).getRight().get().transaction();
+    assertEquals(first.getId(), transaction.getWalletDestinationId());
+    assertEquals(
+        WalletErrorCode.IDEMPOTENCY_ID_CONFLICT.getCode(), results.get(1).getLeft().get().code());
+    assertEquals(
+        WalletErrorCode.IDEMPOTENCY_ID_CONFLICT.getCode(), results.get(2).getLeft().get().code());
+    assertEquals(transaction, results.get(3).getRight().get().transaction());
+    verify(walletRepository).debitBalance(originId, BigDecimal.TEN);
+    verify(transactionRepository)
+        .create(argThat((List<Transaction> transactions) -> transactions.size() == 1));
+  }
+
+  @Test
+  @DisplayName("Should settle synchronously, debiting before crediting when the origin sorts first")
+  void transferSynchronously() {
+    UUID originId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    UUID destId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    Wallet dest = mock(Wallet.class);
+    when(dest.getId()).thenReturn(destId);
+    when(dest.getCurrency()).thenReturn(Currency.BRL);
+    when(walletRepository.findById(originId))
+        .thenReturn(Optional.of(new Wallet(UUID.randomUUID(), "BRL")));
+    when(walletRepository.findById(destId)).thenReturn(Optional.of(dest));
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(true);
+    when(walletRepository.debitBalance(originId, BigDecimal.TEN))
+        .thenReturn(Optional.of(BigDecimal.ONE));
+    when(walletRepository.creditBalance(destId, BigDecimal.TEN))
+        .thenReturn(Optional.of(BigDecimal.TEN));
+
+    var result =
+        transferService.transfer(originId, destId, BigDecimal.TEN, "idem", SettlementMode.SYNC);
+
+    assertEquals(Status.PROCESSED, result.getRight().get().transaction().getStatus());
+    var inOrder = inOrder(walletRepository);
+    inOrder.verify(walletRepository).debitBalance(originId, BigDecimal.TEN);
+    inOrder.verify(walletRepository).creditBalance(destId, BigDecimal.TEN);
+    verifyNoInteractions(applicationEventPublisher);
+  }
+
+  @Test
+  @DisplayName("Should credit first and roll back when the destination sorts first and funds lack")
+  void transferSynchronouslyInWalletIdOrder() {
+    UUID originId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    UUID destId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    Wallet dest = mock(Wallet.class);
+    when(dest.getId()).thenReturn(destId);
+    when(dest.getCurrency()).thenReturn(Currency.BRL);
+    when(walletRepository.findById(originId))
+        .thenReturn(Optional.of(new Wallet(UUID.randomUUID(), "BRL")));
+    when(walletRepository.findById(destId)).thenReturn(Optional.of(dest));
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(true);
+    when(walletRepository.creditBalance(destId, BigDecimal.TEN))
+        .thenReturn(Optional.of(BigDecimal.TEN));
+    when(walletRepository.debitBalance(originId, BigDecimal.TEN)).thenReturn(Optional.empty());
 
     var result =
-        transferService.transfer(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN, "idem");
+        transferService.transfer(originId, destId, BigDecimal.TEN, "idem", SettlementMode.SYNC);
 
-    assertEquals(existing, result.getRight().get());
-    verify(walletRepository, never()).loadByIdForUpdate(any());
+    assertEquals(WalletErrorCode.INSUFFICIENT_BALANCE.getCode(), result.getLeft().get().code());
+    var inOrder = inOrder(walletRepository);
+    inOrder.verify(walletRepository).creditBalance(destId, BigDecimal.TEN);
+    inOrder.verify(walletRepository).debitBalance(originId, BigDecimal.TEN);
+    verify(transactionStatus).setRollbackOnly();
+  }
+
+  @Test
+  @DisplayName("Should keep AUTO transfers to hot wallets asynchronous")
+  void autoSettlementForHotWallet() {
+    UUID originId = UUID.randomUUID();
+    UUID destId = UUID.randomUUID();
+    Wallet dest = mock(Wallet.class);
+    when(dest.getCurrency()).thenReturn(Currency.BRL);
+    when(dest.isHot()).thenReturn(true);
+    when(walletRepository.findById(originId))
+        .thenReturn(Optional.of(new Wallet(UUID.randomUUID(), "BRL")));
+    when(walletRepository.findById(destId)).thenReturn(Optional.of(dest));
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(true);
+    when(walletRepository.debitBalance(originId, BigDecimal.TEN))
+        .thenReturn(Optional.of(BigDecimal.ONE));
+
+    var result =
+        transferService.transfer(originId, destId, BigDecimal.TEN, "idem", SettlementMode.AUTO);
+
+    assertEquals(Status.PENDING, result.getRight().get().transaction().getStatus());
+    verify(walletRepository, never()).creditBalance(any(), any());
+    verify(applicationEventPublisher).publishEvent(any(Object.class));
   }
 
   @Test
@@ -143,12 +370,117 @@ class TransferServiceTest extends UnitTest {
   void throwWalletNotFound() {
     UUID originId = UUID.randomUUID();
     UUID destId = UUID.randomUUID();
-    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
-        .thenReturn(Optional.empty());
-    when(walletRepository.loadByIdForUpdate(any())).thenReturn(Optional.empty());
+    when(walletRepository.findById(any())).thenReturn(Optional.empty());
 
     var result = transferService.transfer(originId, destId, BigDecimal.TEN, "idem");
     assertTrue(result.isLeft());
     assertEquals(WalletErrorCode.WALLET_NOT_FOUND.getCode(), result.getLeft().get().code());
+    verify(transactionRepository, never()).createIfAbsent(any());
+  }
+
+  @Test
+  @DisplayName("Should credit destination wallet atomically when processing a pending transfer")
+  void processDestinationCredit() {
+    UUID destId = UUID.randomUUID();
+    Transaction transaction = pendingTransfer(destId, BigDecimal.TEN);
+
+    when(transactionRepository.loadAllById(List.of(transaction.getId())))
+        .thenReturn(List.of(transaction));
+    when(transactionRepository.markTransfersProcessed(List.of(transaction.getId())))
+        .thenReturn(List.of(transaction.getId()));
+    when(walletRepository.findById(destId)).thenReturn(Optional.of(mock(Wallet.class)));
+    when(walletRepository.creditBalance(destId, BigDecimal.TEN))
+        .thenReturn(Optional.of(BigDecimal.TEN));
+
+    transferService.processDestinationCredit(transaction.getId());
+
+    assertTrue(transaction.isCompleted());
+    verify(walletRepository).creditBalance(destId, BigDecimal.TEN);
+    verify(entryRepository).create(anyList());
+  }
+
+  @Test
+  @DisplayName("Should credit each destination wallet once per batch")
+  void processDestinationCreditsGroupedByDestination() {
+    UUID merchantId = UUID.randomUUID();
+    UUID otherId = UUID.randomUUID();
+    Transaction first = pendingTransfer(merchantId, new BigDecimal("10.00"));
+    Transaction second = pendingTransfer(merchantId, new BigDecimal("15.00"));
+    Transaction third = pendingTransfer(otherId, new BigDecimal("5.00"));
+    var ids = List.of(first.getId(), second.getId(), third.getId());
+
+    when(transactionRepository.loadAllById(ids)).thenReturn(List.of(first, second, third));
+    when(transactionRepository.markTransfersProcessed(anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    when(walletRepository.findById(any())).thenReturn(Optional.of(mock(Wallet.class)));
+    when(walletRepository.creditBalance(any(), any())).thenReturn(Optional.of(BigDecimal.TEN));
+
+    transferService.processDestinationCredits(ids);
+
+    verify(walletRepository).creditBalance(merchantId, new BigDecimal("25.00"));
+    verify(walletRepository).creditBalance(otherId, new BigDecimal("5.00"));
+    verify(entryRepository, times(2)).create(anyList());
+  }
+
+  @Test
+  @DisplayName("Should append pending entries without touching the balance of a hot wallet")
+  void processDestinationCreditToHotWallet() {
+    UUID merchantId = UUID.randomUUID();
+    Transaction transaction = pendingTransfer(merchantId, BigDecimal.TEN);
+    Wallet merchant = mock(Wallet.class);
+
+    when(transactionRepository.loadAllById(List.of(transaction.getId())))
+        .thenReturn(List.of(transaction));
+    when(transactionRepository.markTransfersProcessed(List.of(transaction.getId())))
+        .thenReturn(List.of(transaction.getId()));
+    when(walletRepository.findById(merchantId)).thenReturn(Optional.of(merchant));
+    when(merchant.isHot()).thenReturn(true);
+
+    transferService.processDestinationCredit(transaction.getId());
+
+    assertTrue(transaction.isCompleted());
+    verify(walletRepository, never()).creditBalance(any(), any());
+    verify(entryRepository)
+        .create(argThat((List<Entry> entries) -> entries.getFirst().isPendingFold()));
+  }
+
+  @Test
+  @DisplayName("Should not credit transfers already processed by another consumer")
+  void skipTransfersAlreadyClaimed() {
+    UUID destId = UUID.randomUUID();
+    Transaction transaction = pendingTransfer(destId, BigDecimal.TEN);
+
+    when(transactionRepository.loadAllById(List.of(transaction.getId())))
+        .thenReturn(List.of(transaction));
+    when(transactionRepository.markTransfersProcessed(anyList())).thenReturn(List.of());
+
+    transferService.processDestinationCredits(List.of(transaction.getId()));
+
+    verify(walletRepository, never()).creditBalance(any(), any());
+    verify(entryRepository, never()).create(anyList());
+  }
+
+  @Test
+  @DisplayName("Should throw TransactionNotFoundException when a transfer does not exist")
+  void throwTransactionNotFound() {
+    UUID transactionId = UUID.randomUUID();
+    when(transactionRepository.loadAllById(List.of(transactionId))).thenReturn(List.of());
+
+    assertThrows(
+        TransactionNotFoundException.class,
+        () -> transferService.processDestinationCredit(transactionId));
+  }
+
+  private static Transaction pendingTransfer(UUID destinationId, BigDecimal amount) {
+    return new Transaction(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        destinationId,
+        "idem-" + UUID.randomUUID(),
+        amount,
+        Type.TRANSFER,
+        Status.PENDING,
+        OffsetDateTime.now(),
+        OffsetDateTime.now());
   }
 }
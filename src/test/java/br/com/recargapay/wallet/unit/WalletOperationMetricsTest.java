@@ -0,0 +1,158 @@
+package br.com.recargapay.wallet.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.recargapay.wallet.domain.wallet.exception.WalletErrorCode;
+import br.com.recargapay.wallet.domain.wallet.exception.WalletNotFoundException;
+import br.com.recargapay.wallet.infrastructure.common.Either;
+import br.com.recargapay.wallet.infrastructure.common.Error;
+import br.com.recargapay.wallet.infrastructure.metrics.WalletOperationMetrics;
+import br.com.recargapay.wallet.support.UnitTest;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WalletOperationMetricsTest extends UnitTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private WalletOperationMetrics operationMetrics;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    operationMetrics = new WalletOperationMetrics(meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should tag successful operations and split lock wait from business time")
+  void recordSuccess() {
+    var result =
+        operationMetrics.record(
+            "withdraw",
+            () -> {
+              operationMetrics.recordLockWait(() -> sleep(20));
+              sleep(5);
+              return Either.<Error, String>right("ok");
+            });
+
+    assertEquals("ok", result.getRight().orElseThrow());
+    var total = timer("wallet.operation", "withdraw", "success");
+    var lockWait = timer("wallet.operation.lock.wait", "withdraw", "success");
+    var business = timer("wallet.operation.business", "withdraw", "success");
+    assertEquals(1, total.count());
+    assertTrue(lockWait.totalTime(TimeUnit.MILLISECONDS) >= 20);
+    assertTrue(business.totalTime(TimeUnit.MILLISECONDS) >= 5);
+    assertEquals(
+        total.totalTime(TimeUnit.NANOSECONDS),
+        lockWait.totalTime(TimeUnit.NANOSECONDS) + business.totalTime(TimeUnit.NANOSECONDS),
+        1);
+  }
+
+  @Test
+  @DisplayName("Should tag operations that return an error with the wallet error code")
+  void recordError() {
+    operationMetrics.record(
+        "withdraw",
+        () ->
+            Either.left(
+                Error.of(
+                    WalletErrorCode.INSUFFICIENT_BALANCE.getCode(),
+                    WalletErrorCode.INSUFFICIENT_BALANCE.getMessage())));
+
+    assertEquals(1, timer("wallet.operation", "withdraw", "INSUFFICIENT_BALANCE").count());
+  }
+
+  @Test
+  @DisplayName("Should tag operations that throw with the exception and rethrow it")
+  void recordException() {
+    var walletId = UUID.randomUUID();
+
+    assertThrows(
+        WalletNotFoundException.class,
+        () ->
+            operationMetrics.record(
+                "transfer.credit",
+                () -> {
+                  throw new WalletNotFoundException(walletId);
+                }));
+
+    var timer =
+        meterRegistry
+            .get("wallet.operation")
+            .tag("operation", "transfer.credit")
+            .tag("outcome", "exception")
+            .tag("exception", "WalletNotFoundException")
+            .timer();
+    assertEquals(1, timer.count());
+  }
+
+  @Test
+  @DisplayName("Should time bulk operations as a whole and count their items by outcome")
+  void recordBatch() {
+    var insufficientBalance =
+        Error.of(
+            WalletErrorCode.INSUFFICIENT_BALANCE.getCode(),
+            WalletErrorCode.INSUFFICIENT_BALANCE.getMessage());
+
+    var results =
+        operationMetrics.recordBatch(
+            "withdraw.bulk",
+            () -> {
+              operationMetrics.recordLockWait(() -> sleep(5));
+              return List.of(
+                  Either.<Error, String>right("a"),
+                  Either.<Error, String>right("b"),
+                  Either.<Error, String>left(insufficientBalance));
+            });
+
+    assertEquals(3, results.size());
+    assertEquals(1, timer("wallet.operation", "withdraw.bulk", "success").count());
+    assertTrue(
+        timer("wallet.operation.lock.wait", "withdraw.bulk", "success")
+                .totalTime(TimeUnit.MILLISECONDS)
+            >= 5);
+    assertEquals(2, items("withdraw.bulk", "success"));
+    assertEquals(1, items("withdraw.bulk", "INSUFFICIENT_BALANCE"));
+  }
+
+  @Test
+  @DisplayName("Should run locking statements outside of an operation without recording them")
+  void lockWaitOutsideOperation() {
+    assertEquals("ok", operationMetrics.recordLockWait(() -> "ok"));
+    assertTrue(meterRegistry.getMeters().isEmpty());
+  }
+
+  private double items(String operation, String outcome) {
+    return meterRegistry
+        .get("wallet.operation.items")
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  private Timer timer(String name, String operation, String outcome) {
+    return meterRegistry
+        .get(name)
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .tag("exception", "none")
+        .timer();
+  }
+
+  private static Object sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+}
@@ -1,66 +1,102 @@
 package br.com.recargapay.wallet.unit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-import br.com.recargapay.wallet.domain.transaction.model.Entry;
-import br.com.recargapay.wallet.domain.transaction.model.FinancialType;
+import br.com.recargapay.wallet.domain.transaction.model.Status;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
 import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
+import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.TransactionHistoryCursor;
 import br.com.recargapay.wallet.domain.wallet.exception.WalletNotFoundException;
+import br.com.recargapay.wallet.domain.wallet.model.BalanceCheckpoint;
 import br.com.recargapay.wallet.domain.wallet.model.Wallet;
+import br.com.recargapay.wallet.domain.wallet.repository.BalanceCheckpointRepository;
 import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
 import br.com.recargapay.wallet.domain.wallet.service.WalletService;
+import br.com.recargapay.wallet.infrastructure.cache.DefaultWalletCache;
 import br.com.recargapay.wallet.support.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Consumer;
-import org.junit.jupiter.api.BeforeEach;
+import java.util.function.Function;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.transaction.TransactionStatus;
-import org.springframework.transaction.support.TransactionTemplate;
 
 class WalletServiceTest extends UnitTest {
 
   @Mock private WalletRepository walletRepository;
   @Mock private EntryRepository entryRepository;
-  @Mock private TransactionTemplate transactionTemplate;
+  @Mock private TransactionRepository transactionRepository;
+  @Mock private BalanceCheckpointRepository balanceCheckpointRepository;
+  @Mock private DefaultWalletCache defaultWalletCache;
 
   @InjectMocks private WalletService walletService;
 
-  @BeforeEach
-  void setup() {
-    lenient()
-        .doAnswer(
-            invocation -> {
-              Consumer<TransactionStatus> callback = invocation.getArgument(0);
-              callback.accept(null);
-              return null;
-            })
-        .when(transactionTemplate)
-        .executeWithoutResult(any());
-  }
-
   @Test
   @DisplayName("Should create wallet if not exists")
   void createWallet() {
     UUID customerId = UUID.randomUUID();
     String currency = "BRL";
 
-    when(walletRepository.listByCustomerIdAndCurrency(customerId, currency)).thenReturn(List.of());
+    when(walletRepository.createIfAbsent(any(Wallet.class)))
+        .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
 
     Wallet wallet = walletService.createWallet(customerId, currency);
 
     assertEquals(customerId, wallet.getCustomerId());
     assertEquals(currency, wallet.getCurrency().name());
-    verify(walletRepository).save(any(Wallet.class));
+    verify(walletRepository, never()).listByCustomerIdAndCurrency(any(), any());
+    verify(defaultWalletCache).invalidate(customerId);
+  }
+
+  @Test
+  @DisplayName("Should load the default wallet id through the cache")
+  void retrieveDefaultWalletId() {
+    UUID customerId = UUID.randomUUID();
+    Wallet wallet = new Wallet(customerId, "BRL");
+
+    when(defaultWalletCache.get(eq(customerId), any()))
+        .thenAnswer(
+            invocation -> invocation.<Function<UUID, UUID>>getArgument(1).apply(customerId));
+    when(walletRepository.findByCustomerId(customerId)).thenReturn(List.of(wallet));
+
+    assertEquals(wallet.getId(), walletService.retrieveDefaultWalletId(customerId));
+  }
+
+  @Test
+  @DisplayName("Should create the default wallet through a real cache when the customer has none")
+  void retrieveDefaultWalletIdCreatesWallet() {
+    UUID customerId = UUID.randomUUID();
+    var cache = new DefaultWalletCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    var service =
+        new WalletService(
+            walletRepository,
+            entryRepository,
+            transactionRepository,
+            balanceCheckpointRepository,
+            cache);
+
+    when(walletRepository.findByCustomerId(customerId)).thenReturn(List.of());
+    when(walletRepository.createIfAbsent(any(Wallet.class)))
+        .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+    UUID walletId = service.retrieveDefaultWalletId(customerId);
+
+    assertEquals(walletId, service.retrieveDefaultWalletId(customerId));
+    verify(walletRepository).createIfAbsent(any(Wallet.class));
+    verify(walletRepository).findByCustomerId(customerId);
   }
 
   @Test
@@ -70,23 +106,23 @@ class WalletServiceTest extends UnitTest {
     String currency = "BRL";
     Wallet existing = new Wallet(customerId, currency);
 
+    when(walletRepository.createIfAbsent(any(Wallet.class))).thenReturn(Optional.empty());
     when(walletRepository.listByCustomerIdAndCurrency(customerId, currency))
         .thenReturn(List.of(existing));
 
     Wallet wallet = walletService.createWallet(customerId, currency);
 
     assertEquals(existing, wallet);
-    verify(walletRepository, never()).save(any());
+    verify(defaultWalletCache, never()).invalidate(any());
   }
 
   @Test
   @DisplayName("Should retrieve balance")
   void retrieveBalance() {
     UUID walletId = UUID.randomUUID();
-    Wallet wallet = new Wallet(UUID.randomUUID(), "BRL");
-    wallet.deposit(new BigDecimal("123.45"));
 
-    when(walletRepository.loadByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
+    when(walletRepository.findAvailableBalanceById(walletId))
+        .thenReturn(Optional.of(new BigDecimal("123.45")));
 
     BigDecimal balance = walletService.retrieveBalance(walletId);
 
@@ -101,38 +137,129 @@ class WalletServiceTest extends UnitTest {
 
     when(walletRepository.findById(walletId)).thenReturn(Optional.of(mock(Wallet.class)));
 
-    List<Entry> entries =
-        List.of(
-            new Entry(
-                UUID.randomUUID(),
-                walletId,
-                UUID.randomUUID(),
-                new BigDecimal("100.00"),
-                FinancialType.CREDIT,
-                at.minusDays(1)),
-            new Entry(
-                UUID.randomUUID(),
-                walletId,
-                UUID.randomUUID(),
-                new BigDecimal("30.00"),
-                FinancialType.DEBIT,
-                at.minusHours(1)));
-
-    when(entryRepository.findByWalletIdAndCreatedAtBeforeOrderByCreatedAtAsc(walletId, at))
-        .thenReturn(entries);
+    when(entryRepository.sumSignedAmountByWalletIdAndCreatedAtBefore(walletId, at))
+        .thenReturn(new BigDecimal("70.00"));
 
     BigDecimal balance = walletService.retrieveHistoricalBalance(walletId, at);
 
     assertEquals(new BigDecimal("70.00"), balance);
   }
 
+  @Test
+  @DisplayName("Should retrieve historical balance starting from the nearest checkpoint")
+  void retrieveHistoricalBalanceFromCheckpoint() {
+    UUID walletId = UUID.randomUUID();
+    OffsetDateTime at = OffsetDateTime.now();
+    OffsetDateTime checkpointAt = at.minusHours(2);
+
+    when(walletRepository.findById(walletId)).thenReturn(Optional.of(mock(Wallet.class)));
+    when(balanceCheckpointRepository.findLatestByWalletIdAtOrBefore(walletId, at))
+        .thenReturn(
+            Optional.of(
+                new BalanceCheckpoint(
+                    UUID.randomUUID(),
+                    walletId,
+                    new BigDecimal("100.00"),
+                    checkpointAt,
+                    checkpointAt)));
+    when(entryRepository.sumSignedAmountByWalletIdAndCreatedAtBetween(walletId, checkpointAt, at))
+        .thenReturn(new BigDecimal("-30.00"));
+
+    BigDecimal balance = walletService.retrieveHistoricalBalance(walletId, at);
+
+    assertEquals(new BigDecimal("70.00"), balance);
+    verify(entryRepository, never()).sumSignedAmountByWalletIdAndCreatedAtBefore(any(), any());
+  }
+
   @Test
   @DisplayName(
       "Should throw WalletNotFoundException when retrieving balance of non-existent wallet")
   void throwNotFoundOnBalance() {
     UUID walletId = UUID.randomUUID();
-    when(walletRepository.loadByIdForUpdate(walletId)).thenReturn(Optional.empty());
+    when(walletRepository.findAvailableBalanceById(walletId)).thenReturn(Optional.empty());
 
     assertThrows(WalletNotFoundException.class, () -> walletService.retrieveBalance(walletId));
   }
+
+  @Test
+  @DisplayName("Should throw WalletNotFoundException when sharding a non-existent wallet")
+  void throwNotFoundOnEnableBalanceSharding() {
+    UUID walletId = UUID.randomUUID();
+    when(walletRepository.enableBalanceSharding(walletId, 4)).thenReturn(Optional.empty());
+
+    assertThrows(
+        WalletNotFoundException.class, () -> walletService.enableBalanceSharding(walletId, 4));
+  }
+
+  @Test
+  @DisplayName("Should move the balance to the first shard when enabling sharding")
+  void shardWalletBalance() {
+    Wallet wallet = new Wallet(UUID.randomUUID(), "BRL");
+    wallet.deposit(new BigDecimal("50.00"));
+
+    var shards = wallet.shard(4);
+
+    assertEquals(4, shards.size());
+    assertEquals(new BigDecimal("50.00"), shards.getFirst().getBalance());
+    assertEquals(BigDecimal.ZERO, wallet.getBalance());
+    assertEquals(4, wallet.getBalanceShards());
+    assertThrows(IllegalArgumentException.class, () -> wallet.shard(2));
+  }
+
+  @Test
+  @DisplayName("Should enable hot wallet mode")
+  void setHotWallet() {
+    UUID walletId = UUID.randomUUID();
+    when(walletRepository.findById(walletId)).thenReturn(Optional.of(mock(Wallet.class)));
+
+    walletService.setHotWallet(walletId, true);
+
+    verify(walletRepository).updateHot(walletId, true);
+  }
+
+  @Test
+  @DisplayName("Should return the next cursor when there are more transactions than the limit")
+  void listTransactionsWithNextPage() {
+    UUID walletId = UUID.randomUUID();
+    var now = OffsetDateTime.now();
+    var transactions =
+        List.of(
+            deposit(walletId, now),
+            deposit(walletId, now.minusSeconds(1)),
+            deposit(walletId, now.minusSeconds(2)));
+    when(transactionRepository.findByWalletIdBefore(walletId, TransactionHistoryCursor.start(), 3))
+        .thenReturn(transactions);
+
+    var page = walletService.listTransactions(walletId, TransactionHistoryCursor.start(), 2);
+
+    assertEquals(transactions.subList(0, 2), page.transactions());
+    assertEquals(TransactionHistoryCursor.after(transactions.get(1)), page.next());
+  }
+
+  @Test
+  @DisplayName("Should not return a next cursor on the last page")
+  void listTransactionsLastPage() {
+    UUID walletId = UUID.randomUUID();
+    var cursor = new TransactionHistoryCursor(OffsetDateTime.now(), UUID.randomUUID());
+    var transactions = List.of(deposit(walletId, cursor.createdAt().minusSeconds(1)));
+    when(transactionRepository.findByWalletIdBefore(walletId, cursor, 3)).thenReturn(transactions);
+
+    var page = walletService.listTransactions(walletId, cursor, 2);
+
+    assertEquals(transactions, page.transactions());
+    assertNull(page.next());
+  }
+
+  private static Transaction deposit(UUID walletId, OffsetDateTime at) {
+    return new Transaction(
+        UUID.randomUUID(),
+        walletId,
+        null,
+        UUID.randomUUID().toString(),
+        BigDecimal.TEN,
+        Type.DEPOSIT,
+        Status.PROCESSED,
+        at,
+        at);
+  }
 }
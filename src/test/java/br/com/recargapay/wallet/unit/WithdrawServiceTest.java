@@ -3,16 +3,25 @@ package br.com.recargapay.wallet.unit;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import br.com.recargapay.wallet.domain.transaction.model.Status;
+import br.com.recargapay.wallet.domain.transaction.model.Transaction;
+import br.com.recargapay.wallet.domain.transaction.model.Type;
 import br.com.recargapay.wallet.domain.transaction.repository.EntryRepository;
 import br.com.recargapay.wallet.domain.transaction.repository.TransactionRepository;
+import br.com.recargapay.wallet.domain.transaction.vo.BulkItem;
 import br.com.recargapay.wallet.domain.wallet.exception.WalletErrorCode;
 import br.com.recargapay.wallet.domain.wallet.model.Wallet;
 import br.com.recargapay.wallet.domain.wallet.repository.WalletRepository;
 import br.com.recargapay.wallet.domain.wallet.service.WithdrawService;
+import br.com.recargapay.wallet.infrastructure.metrics.WalletOperationMetrics;
 import br.com.recargapay.wallet.support.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +29,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionTemplate;
 
 class WithdrawServiceTest extends UnitTest {
@@ -28,6 +39,11 @@ class WithdrawServiceTest extends UnitTest {
   @Mock private TransactionRepository transactionRepository;
   @Mock private EntryRepository entryRepository;
   @Mock private TransactionTemplate transactionTemplate;
+  @Mock private TransactionStatus transactionStatus;
+
+  @Spy
+  private WalletOperationMetrics operationMetrics =
+      new WalletOperationMetrics(new SimpleMeterRegistry());
 
   @InjectMocks private WithdrawService withdrawService;
 
@@ -40,7 +56,7 @@ class WithdrawServiceTest extends UnitTest {
             invocation -> {
               org.springframework.transaction.support.TransactionCallback callback =
                   invocation.getArgument(0);
-              return callback.doInTransaction(null);
+              return callback.doInTransaction(transactionStatus);
             })
         .when(transactionTemplate)
         .execute(any());
@@ -52,54 +68,56 @@ class WithdrawServiceTest extends UnitTest {
     UUID walletId = UUID.randomUUID();
     BigDecimal amount = new BigDecimal("50.00");
     String idempotencyId = "idem-456";
-    Wallet wallet = new Wallet(UUID.randomUUID(), "BRL");
-    wallet.deposit(new BigDecimal("100.00"));
 
-    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
-        .thenReturn(Optional.empty());
-    when(walletRepository.loadByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(true);
+    when(walletRepository.debitBalance(walletId, amount))
+        .thenReturn(Optional.of(new BigDecimal("50.00")));
 
     var result = withdrawService.withdraw(walletId, amount, idempotencyId);
 
-    assertEquals(new BigDecimal("50.00"), wallet.getBalance());
-    verify(walletRepository).save(wallet);
-    verify(transactionRepository)
-        .create(any(br.com.recargapay.wallet.domain.transaction.model.Transaction.class));
+    assertTrue(result.isRight());
+    assertEquals(Status.PROCESSED, result.getRight().get().transaction().getStatus());
+    assertEquals(new BigDecimal("50.00"), result.getRight().get().balance());
+    verify(walletRepository).debitBalance(walletId, amount);
+    verify(transactionRepository, never())
+        .findByWalletIdAndIdempotencyIdAndType(any(), any(), any());
     verify(entryRepository)
         .create(any(br.com.recargapay.wallet.domain.transaction.model.Entry.class));
-    verify(transactionRepository).update(any());
+    verify(transactionRepository, never()).update(any());
   }
 
   @Test
-  @DisplayName("Should return error if balance is not enough")
+  @DisplayName("Should return error and roll back the claimed key if balance is not enough")
   void throwInsufficientBalance() {
     UUID walletId = UUID.randomUUID();
     BigDecimal amount = new BigDecimal("150.00");
-    Wallet wallet = new Wallet(UUID.randomUUID(), "BRL");
-    wallet.deposit(new BigDecimal("100.00"));
 
-    when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
-        .thenReturn(Optional.empty());
-    when(walletRepository.loadByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(true);
+    when(walletRepository.debitBalance(walletId, amount)).thenReturn(Optional.empty());
 
     var result = withdrawService.withdraw(walletId, amount, "idem");
 
     assertTrue(result.isLeft());
     assertEquals(WalletErrorCode.INSUFFICIENT_BALANCE.getCode(), result.getLeft().get().code());
-    verify(walletRepository, never()).save(any());
+    verify(transactionStatus).setRollbackOnly();
+    verify(entryRepository, never())
+        .create(any(br.com.recargapay.wallet.domain.transaction.model.Entry.class));
   }
 
   @Test
   @DisplayName("Should skip withdraw if idempotency key exists")
   void skipIfIdempotencyExists() {
     UUID walletId = UUID.randomUUID();
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(false);
     when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
-        .thenReturn(
-            Optional.of(mock(br.com.recargapay.wallet.domain.transaction.model.Transaction.class)));
+        .thenReturn(Optional.of(mock(Transaction.class)));
+    when(walletRepository.findAvailableBalanceById(walletId))
+        .thenReturn(Optional.of(BigDecimal.TEN));
 
-    withdrawService.withdraw(walletId, BigDecimal.TEN, "idem");
+    var result = withdrawService.withdraw(walletId, BigDecimal.TEN, "idem");
 
-    verify(walletRepository, never()).loadByIdForUpdate(any());
+    assertTrue(result.getRight().get().replayed());
+    verify(walletRepository, never()).debitBalance(any(), any());
   }
 
   @Test
@@ -115,12 +133,73 @@ class WithdrawServiceTest extends UnitTest {
   @DisplayName("Should return error if wallet does not exist")
   void throwWalletNotFound() {
     UUID walletId = UUID.randomUUID();
+    when(transactionRepository.createIfAbsent(any(Transaction.class))).thenReturn(false);
     when(transactionRepository.findByWalletIdAndIdempotencyIdAndType(any(), any(), any()))
         .thenReturn(Optional.empty());
-    when(walletRepository.loadByIdForUpdate(walletId)).thenReturn(Optional.ofNullable(null));
 
     var result = withdrawService.withdraw(walletId, BigDecimal.TEN, "idem");
     assertTrue(result.isLeft());
     assertEquals(WalletErrorCode.WALLET_NOT_FOUND.getCode(), result.getLeft().get().code());
+    verify(walletRepository, never()).debitBalance(any(), any());
+  }
+
+  @Test
+  @DisplayName(
+      "Should debit each wallet once and fall back to item debits when the sum does not fit")
+  void withdrawAll() {
+    UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    when(transactionRepository.findAllByWalletIdInAndIdempotencyIdInAndType(
+            any(), any(), eq(Type.WITHDRAWAL)))
+        .thenReturn(List.of());
+    when(walletRepository.debitBalance(first, new BigDecimal("30")))
+        .thenReturn(Optional.of(new BigDecimal("70")));
+    when(walletRepository.debitBalance(second, new BigDecimal("15"))).thenReturn(Optional.empty());
+    when(walletRepository.debitBalance(second, BigDecimal.TEN)).thenReturn(Optional.empty());
+    when(walletRepository.debitBalance(second, new BigDecimal("5")))
+        .thenReturn(Optional.of(BigDecimal.ONE));
+    when(walletRepository.findById(second)).thenReturn(Optional.of(mock(Wallet.class)));
+
+    var results =
+        withdrawService.withdrawAll(
+            List.of(
+                new BulkItem(first, BigDecimal.TEN, "idem-1"),
+                new BulkItem(second, BigDecimal.TEN, "idem-2"),
+                new BulkItem(first, new BigDecimal("20"), "idem-3"),
+                new BulkItem(second, new BigDecimal("5"), "idem-4")));
+
+    assertEquals(new BigDecimal("90"), results.get(0).getRight().get().balance());
+    assertEquals(
+        WalletErrorCode.INSUFFICIENT_BALANCE.getCode(), results.get(1).getLeft().get().code());
+    assertEquals(new BigDecimal("70"), results.get(2).getRight().get().balance());
+    assertEquals(BigDecimal.ONE, results.get(3).getRight().get().balance());
+    verify(transactionRepository)
+        .create(argThat((List<Transaction> transactions) -> transactions.size() == 3));
+  }
+
+  @Test
+  @DisplayName("Should reject a repeated idempotency id with a different amount in the batch")
+  void withdrawAllConflictingDuplicate() {
+    UUID walletId = UUID.randomUUID();
+    when(transactionRepository.findAllByWalletIdInAndIdempotencyIdInAndType(
+            any(), any(), eq(Type.WITHDRAWAL)))
+        .thenReturn(List.of());
+    when(walletRepository.debitBalance(walletId, BigDecimal.TEN))
+        .thenReturn(Optional.of(new BigDecimal("90")));
+
+    var results =
+        withdrawService.withdrawAll(
+            List.of(
+                new BulkItem(walletId, BigDecimal.TEN, "idem-1"),
+                new BulkItem(walletId, BigDecimal.ONE, "idem-1"),
+                new BulkItem(walletId, new BigDecimal("10.00"), "idem-1")));
+
+    var transaction = results.get(0).getRight().get().transaction();
+    assertEquals(
+        WalletErrorCode.IDEMPOTENCY_ID_CONFLICT.getCode(), results.get(1).getLeft().get().code());
+    assertEquals(transaction, results.get(2).getRight().get().transaction());
+    verify(walletRepository).debitBalance(walletId, BigDecimal.TEN);
+    verify(transactionRepository)
+        .create(argThat((List<Transaction> transactions) -> transactions.size() == 1));
   }
 }